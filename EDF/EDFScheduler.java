@@ -0,0 +1,165 @@
+package EDF;
+import java.util.ArrayList;
+import java.util.List;
+import utilities.IndexedMinHeap;
+import utilities.PeriodicTask;
+import utilities.Process;
+import utilities.ProcessTable;
+import utilities.Scheduler;
+import utilities.SimulationKernel;
+
+/**
+ * Earliest Deadline First (EDF) CPU Scheduling Algorithm
+ * EDF is a preemptive scheduling algorithm where at each quantum
+ * the process with the earliest absolute deadline is selected for execution.
+ * Processes without a deadline only run when no process with one is ready.
+ *
+ * The ready queue is an indexed min-heap keyed on (deadline, arrival time),
+ * so selecting, adding and removing a process are O(log n).
+ *
+ * On one CPU EDF meets every deadline of a set of periodic tasks whose deadlines equal
+ * their periods if and only if their utilization is at most 1. admissionTest() uses
+ * this bound to reject the tasks that would make a task set miss deadlines.
+ */
+public class EDFScheduler implements Scheduler {
+
+    // Don't start new processes after quantum 99
+    private static final int DEFAULT_HORIZON = 100;
+
+    /**
+     * Utilization of one CPU, the largest a task set may need
+     */
+    public static final double UTILIZATION_BOUND = 1.0;
+
+    private List<Process> processes;
+    private ProcessTable table;
+    private IndexedMinHeap readyQueue;
+    private int horizon;
+
+    public EDFScheduler(List<Process> processes) {
+        this(ProcessTable.fromProcesses(processes));
+        this.processes.addAll(processes);
+    }
+
+    public EDFScheduler(ProcessTable table) {
+        this(table, DEFAULT_HORIZON);
+    }
+
+    /**
+     * @param horizon - quantum from which no new processes are admitted
+     */
+    public EDFScheduler(ProcessTable table, int horizon) {
+        this.processes = new ArrayList<>();
+        this.table = table;
+        this.readyQueue = new IndexedMinHeap(this::compare, table.size());
+        this.horizon = horizon;
+    }
+
+    /**
+     * Admission test of a task set, the tasks are offered in list order.
+     * A task is admitted if the tasks admitted before and the task together have a
+     * density (runtime / deadline) of at most UTILIZATION_BOUND, otherwise it is rejected.
+     * For deadlines equal to the periods the density is the utilization and the test is
+     * exact; for shorter deadlines it is sufficient, so a schedulable task may be rejected.
+     * Returns the admitted tasks
+     */
+    public static List<PeriodicTask> admissionTest(List<PeriodicTask> tasks) {
+        List<PeriodicTask> admitted = new ArrayList<>();
+        double density = 0.0;
+        for (PeriodicTask task : tasks) {
+            // Tolerate rounding of the sum, a density of exactly 1 is schedulable
+            if (density + task.getDensity() <= UTILIZATION_BOUND + 1e-9) {
+                admitted.add(task);
+                density += task.getDensity();
+            }
+        }
+        return admitted;
+    }
+
+    /**
+     * Simulate the EDF scheduling algorithm
+     * Returns the timeline string showing which process ran at each quantum
+     */
+    public String simulate() {
+        String timeline = new SimulationKernel(table, this).run().render();
+        table.copyResultsTo(processes);
+        return timeline;
+    }
+
+    @Override
+    public long horizon() {
+        return horizon;
+    }
+
+    @Override
+    public void admit(int job, long now) {
+        readyQueue.add(job);
+    }
+
+    /**
+     * The process with the earliest deadline is at the top of the heap
+     */
+    @Override
+    public int pickNext(long now) {
+        return readyQueue.peek();
+    }
+
+    /**
+     * The selected process keeps the earliest deadline until a new process arrives
+     */
+    @Override
+    public long sliceFor(int job, long now, long nextAdmission) {
+        return nextAdmission - now;
+    }
+
+    /**
+     * Process stays in the ready queue, its deadline does not change
+     */
+    @Override
+    public void onTick(int job, long now, long ran) {
+        // The heap order still holds
+    }
+
+    @Override
+    public void onComplete(int job, long now) {
+        readyQueue.remove(job);
+    }
+
+    @Override
+    public int takeNext(long now) {
+        return readyQueue.poll();
+    }
+
+    @Override
+    public void putBack(int job, long now, long ran) {
+        readyQueue.add(job);
+    }
+
+    /**
+     * Order processes by absolute deadline
+     * If deadlines are equal, choose the one that arrived first (FCFS tie-breaking)
+     */
+    private int compare(int job1, int job2) {
+        int result = Integer.compare(table.getDeadline(job1), table.getDeadline(job2));
+        if (result == 0) {
+            result = Integer.compare(table.getArrivalTime(job1), table.getArrivalTime(job2));
+        }
+        if (result == 0) {
+            result = Integer.compare(job1, job2);
+        }
+        return result;
+    }
+
+    /**
+     * Get list of processes that actually ran (for statistics)
+     */
+    public List<Process> getProcessesThatRan() {
+        List<Process> ranProcesses = new ArrayList<>();
+        for (Process p : processes) {
+            if (p.getResponseTime() != -1) {
+                ranProcesses.add(p);
+            }
+        }
+        return ranProcesses;
+    }
+}
@@ -0,0 +1,97 @@
+package EDF;
+import utilities.PeriodicArrivalStream;
+import utilities.PeriodicTask;
+import utilities.ReportOptions;
+import utilities.SimulationDriver;
+import utilities.Workload;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Main class to run EDF (Earliest Deadline First) scheduling simulation
+ * Every iteration offers a random set of periodic tasks of the target utilization and
+ * simulates the jobs they release until the horizon. With admission control the tasks
+ * that would push the task set over the utilization bound are rejected first, so no
+ * deadline is missed; without it an overloaded task set misses deadlines.
+ * Reports the deadline miss ratio and the lateness next to the usual statistics.
+ *
+ * Usage: java EDF.EDFSimulation [targetUtilization] [admit|all] [--format table|csv|jsonl|binary] [--output file]
+ */
+public class EDFSimulation {
+
+    private static final int NUM_ITERATIONS = 5;
+    private static final int HORIZON = 100;
+
+    // Shorter periods get higher priorities, priority 1 for the first period
+    private static final int[] PERIODS = {5, 10, 20, 40};
+
+    public static void main(String[] args) {
+        ReportOptions options = ReportOptions.parse(args);
+        args = options.getArguments();
+        double targetUtilization = args.length > 0 ? Double.parseDouble(args[0]) : 1.2;
+        boolean admissionControl = args.length < 2 || args[1].equalsIgnoreCase("admit");
+        if (args.length > 1 && !admissionControl && !args[1].equalsIgnoreCase("all")) {
+            throw new IllegalArgumentException("Unknown admission " + args[1] + ", use admit or all");
+        }
+
+        // Create a buffered PrintStream that writes to a file
+        try (PrintStream out = options.openOutput("EDFSimulationOutput.txt")) {
+            if (options.isTable()) {
+                out.println("=======================================================================================================");
+                out.println("                    EARLIEST DEADLINE FIRST (EDF) SCHEDULING SIMULATION");
+                out.println("========================================================================================================");
+                out.println();
+            }
+
+            // Task sets are drawn up front, so the iterations can run in parallel
+            List<Workload> workloads = new ArrayList<>();
+            for (int iteration = 1; iteration <= NUM_ITERATIONS; iteration++) {
+                List<PeriodicTask> offered = generateTasks(new Random(iteration * 100), targetUtilization);
+                List<PeriodicTask> tasks = admissionControl ? EDFScheduler.admissionTest(offered) : offered;
+                if (options.isTable()) {
+                    out.printf("Iteration %d: %d tasks offered (utilization %.2f), %d admitted (utilization %.2f, density %.2f)%n",
+                            iteration, offered.size(), PeriodicTask.utilization(offered),
+                            tasks.size(), PeriodicTask.utilization(tasks), PeriodicTask.density(tasks));
+                }
+                workloads.add(Workload.fromStream(new PeriodicArrivalStream(tasks, HORIZON)));
+            }
+            if (options.isTable()) {
+                out.println();
+            }
+
+            String algorithmName = String.format("Earliest Deadline First (EDF) [Preemptive] utilization %.2f, %s",
+                    targetUtilization, admissionControl ? "admission control" : "no admission control");
+            SimulationDriver driver = new SimulationDriver(algorithmName,
+                    iteration -> workloads.get(iteration - 1),
+                    table -> new EDFScheduler(table, HORIZON));
+            driver.setIterations(NUM_ITERATIONS);
+            driver.setOutput(out);
+            driver.setReportFormat(options.getFormat());
+            driver.setReportPriorityLevels(true);
+            driver.run();
+        }
+        catch(FileNotFoundException e) {
+            System.err.println("Error: Unable to create output file.");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Random tasks until their utilization reaches the target
+     * Every task uses up to a quarter of its period; one in four has a deadline shorter than its period.
+     */
+    private static List<PeriodicTask> generateTasks(Random rand, double targetUtilization) {
+        List<PeriodicTask> tasks = new ArrayList<>();
+        while (PeriodicTask.utilization(tasks) < targetUtilization) {
+            int level = rand.nextInt(PERIODS.length);
+            int period = PERIODS[level];
+            int runtime = rand.nextInt(period / 4) + 1;
+            int deadline = rand.nextInt(4) == 0 ? runtime + rand.nextInt(period - runtime + 1) : period;
+            tasks.add(new PeriodicTask(period, runtime, deadline, level + 1, rand.nextInt(period)));
+        }
+        return tasks;
+    }
+}
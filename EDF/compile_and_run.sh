@@ -0,0 +1,10 @@
+#!/bin/bash
+
+# Move to the parent directory (so EDF and utilities are both visible).
+cd "$(dirname "$0")/.." || exit
+
+# Compile all Java files
+javac EDF/*.java utilities/*.java
+
+# Run the EDFSimulation class, passing on the options
+java EDF.EDFSimulation "$@"
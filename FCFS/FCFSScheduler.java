@@ -0,0 +1,70 @@
+package FCFS;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import utilities.Process;
+import utilities.ProcessTable;
+import utilities.Scheduler;
+import utilities.SimulationKernel;
+
+/**
+ * First-Come First-Served (FCFS) CPU Scheduling Algorithm
+ * FCFS is a non-preemptive scheduling algorithm where processes are executed
+ * in the order they arrive in the ready queue
+ */
+public class FCFSScheduler implements Scheduler {
+    
+    private List<Process> processes;
+    private ProcessTable table;
+    private Deque<Integer> readyQueue;
+    
+    public FCFSScheduler(List<Process> processes) {
+        this(ProcessTable.fromProcesses(processes));
+        this.processes.addAll(processes);
+    }
+    
+    public FCFSScheduler(ProcessTable table) {
+        this.processes = new ArrayList<>();
+        this.table = table;
+        this.readyQueue = new ArrayDeque<>();
+    }
+    
+    /**
+     * Simulate the FCFS scheduling algorithm
+     * Returns the timeline string showing which process ran at each quantum
+     */
+    public String simulate() {
+        String timeline = new SimulationKernel(table, this).run().render();
+        table.copyResultsTo(processes);
+        return timeline;
+    }
+    
+    @Override
+    public void admit(int job, long now) {
+        readyQueue.addLast(job);
+    }
+    
+    @Override
+    public int pickNext(long now) {
+        return readyQueue.isEmpty() ? -1 : readyQueue.pollFirst();
+    }
+    
+    /**
+     * Non-preemptive: once started, a process runs to completion
+     */
+    @Override
+    public long sliceFor(int job, long now, long nextAdmission) {
+        return Long.MAX_VALUE;
+    }
+    
+    @Override
+    public void onTick(int job, long now, long ran) {
+        // Never called, processes are not preempted
+    }
+    
+    @Override
+    public void onComplete(int job, long now) {
+        // Process already left the ready queue when it was selected
+    }
+}
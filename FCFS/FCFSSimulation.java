@@ -0,0 +1,34 @@
+package FCFS;
+import utilities.ReportOptions;
+import utilities.SimulationDriver;
+import utilities.Workload;
+import utilities.WorkloadGenerator;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+
+/**
+ * Main class to run FCFS scheduling simulation
+ * Runs multiple iterations and calculates average statistics
+ *
+ * Usage: java FCFS.FCFSSimulation [--format table|csv|jsonl|binary] [--output file]
+ */
+public class FCFSSimulation {
+    
+    private static final int NUM_ITERATIONS = 5;
+    
+    public static void main(String[] args) throws FileNotFoundException {
+        ReportOptions options = ReportOptions.parse(args);
+
+        // The verified workload has a fixed seed, generate it once and share it between iterations
+        Workload workload = Workload.fromProcesses(WorkloadGenerator.generateAndVerifyWorkload());
+        SimulationDriver driver = new SimulationDriver("First-come first-served (FCFS) [Non-Preemptive]",
+                iteration -> workload,
+                FCFSScheduler::new);
+        driver.setIterations(NUM_ITERATIONS);
+        driver.setReportFormat(options.getFormat());
+        try (PrintStream out = options.openOutput(null)) {
+            driver.setOutput(out);
+            driver.run();
+        }
+    }
+}
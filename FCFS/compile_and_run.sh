@@ -0,0 +1,20 @@
+#!/bin/bash
+
+# Move to the parent directory (so FCFS and utilities are both visible).
+cd "$(dirname "$0")/.." || exit
+
+# Compile all Java files
+echo "Compiling Java files..."
+javac FCFS/*.java utilities/*.java
+
+# Check if compilation was successful
+if [ $? -eq 0 ]; then
+    echo "Compilation successful!"
+    echo ""
+    echo "Running FCFS Simulation..."
+    echo "=========================================="
+    java FCFS.FCFSSimulation
+else
+    echo "Compilation failed!"
+    exit 1
+fi
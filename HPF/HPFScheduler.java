@@ -1,42 +1,113 @@
 package HPF;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import utilities.MultilevelQueue;
 import utilities.Process;
+import utilities.ProcessTable;
+import utilities.Scheduler;
+import utilities.SimulationKernel;
 
 /**
  * Highest Priority First (HPF) CPU Scheduling Algorithm
  * HPF is a priority-based scheduling algorithm where processes with higher priority (lower number)
  * are scheduled before processes with lower priority (higher number).
  * 
- * This implementation supports both:
- * - Non-preemptive HPF: Uses FCFS within each priority level
- * - Preemptive HPF: Uses RR with time slice of 1 quantum within each priority level
+ * This implementation supports both, with FCFS within each priority level:
+ * - Non-preemptive HPF: The selected process keeps the CPU until it completes
+ * - Preemptive HPF: A higher priority arrival takes the CPU, the preempted process
+ *   resumes before the other processes of its level
+ * 
+ * The number of priority levels is configurable (4 by default). Each level is a FIFO
+ * queue and a bitmap of non-empty levels finds the highest priority process in O(1).
+ *
+ * Optional aging keeps a stream of high priority arrivals from starving the lower levels:
+ * time is cut into epochs of the aging threshold, and at the start of each epoch the jobs
+ * that have waited a whole threshold in their level move up one level, behind the jobs
+ * there. A preempted job re-enters its level when it goes back, so the quanta it ran do not
+ * count as waiting. A level is in order of the time its jobs entered it, apart from the
+ * preempted jobs at its head, so the jobs to promote are taken from its head after those;
+ * jobs that are not due are never looked at. Epochs that pass while a job runs are caught
+ * up at the next decision, one promotion round per epoch.
  */
-public class HPFScheduler {
+public class HPFScheduler implements Scheduler {
+    
+    // Don't start new processes after quantum 99
+    private static final int DEFAULT_HORIZON = 100;
+    private static final int DEFAULT_PRIORITY_LEVELS = 4;
     
     private List<Process> processes;
-    private StringBuilder timeline;
-    private int currentQuantum;
+    private ProcessTable table;
     private boolean isPreemptive;
+    private int horizon;
+    
+    // Priority queues (level 0 holds priority 1, the highest priority)
+    private MultilevelQueue priorityQueues;
     
-    // Priority queues (1=highest priority, 4=lowest priority)
-    private List<List<Process>> priorityQueues;
+    // Aging, off if the threshold is 0
+    private int agingThreshold;
+    private long nextAging;
+    private long promotions;
+    
+    // Per job: level it is queued in, quantum it entered that level and whether it was preempted there
+    private int[] level;
+    private long[] enteredLevel;
+    private boolean[] resumed;
+    
+    // Preempted jobs held back while the jobs behind them are promoted
+    private int[] held;
     
     public HPFScheduler(List<Process> processes, boolean isPreemptive) {
+        this(ProcessTable.fromProcesses(processes), isPreemptive);
+        this.processes.addAll(processes);
+    }
+    
+    public HPFScheduler(ProcessTable table, boolean isPreemptive) {
+        this(table, isPreemptive, DEFAULT_PRIORITY_LEVELS);
+    }
+    
+    /**
+     * @param priorityLevels - number of priority levels, processes have priorities 1..priorityLevels
+     */
+    public HPFScheduler(ProcessTable table, boolean isPreemptive, int priorityLevels) {
+        this(table, isPreemptive, priorityLevels, DEFAULT_HORIZON);
+    }
+    
+    /**
+     * @param priorityLevels - number of priority levels, processes have priorities 1..priorityLevels
+     * @param horizon - quantum from which no new processes are admitted
+     */
+    public HPFScheduler(ProcessTable table, boolean isPreemptive, int priorityLevels, int horizon) {
         this.processes = new ArrayList<>();
-        // Create deep copies to avoid modifying original processes
-        for (Process p : processes) {
-            this.processes.add(p);
-        }
-        this.timeline = new StringBuilder();
-        this.currentQuantum = 0;
+        this.table = table;
         this.isPreemptive = isPreemptive;
-        
-        // Initialize 4 priority queues (priority 1-4)
-        this.priorityQueues = new ArrayList<>();
-        for (int i = 0; i < 4; i++) {
-            priorityQueues.add(new ArrayList<>());
+        this.horizon = horizon;
+        this.priorityQueues = new MultilevelQueue(priorityLevels);
+        this.agingThreshold = 0;
+        this.promotions = 0;
+        int capacity = Math.max(16, table.size());
+        this.level = new int[capacity];
+        this.enteredLevel = new long[capacity];
+        this.resumed = new boolean[capacity];
+        this.held = new int[16];
+    }
+    
+    /**
+     * Promote jobs that waited this many quanta in their level one level up, 0 turns aging off
+     */
+    public void setAgingThreshold(int agingThreshold) {
+        if (agingThreshold < 0) {
+            throw new IllegalArgumentException("Aging threshold must not be negative: " + agingThreshold);
         }
+        this.agingThreshold = agingThreshold;
+        this.nextAging = agingThreshold;
+    }
+    
+    /**
+     * Number of times a job moved up a level by aging
+     */
+    public long getPromotions() {
+        return promotions;
     }
     
     /**
@@ -44,122 +115,79 @@ public class HPFScheduler {
      * Returns the timeline string showing which process ran at each quantum
      */
     public String simulate() {
-        int completedProcesses = 0;
-        int totalProcesses = processes.size();
-        
-        // Continue until all processes complete
-        while (completedProcesses < totalProcesses) {
-            // Add all processes that have arrived by current quantum to appropriate priority queues
-            for (Process p : processes) {
-                if (p.getArrivalTime() <= currentQuantum && 
-                    !p.isCompleted() && 
-                    !isInAnyQueue(p)) {
-                    // Don't start new processes after quantum 99
-                    if (currentQuantum <= 99 || p.getResponseTime() != -1) {
-                        int priority = p.getPriority();
-                        priorityQueues.get(priority - 1).add(p);
-                    }
-                }
-            }
-            
-            // Find the highest priority non-empty queue
-            Process selectedProcess = getHighestPriorityProcess();
-            
-            // If no process available, CPU is idle
-            if (selectedProcess == null) {
-                // Check if there are any processes that haven't started yet
-                if (currentQuantum > 99) {
-                    break;
-                }
-                
-                // Check if there are any more processes coming
-                boolean hasMoreProcesses = false;
-                for (Process p : processes) {
-                    if (!p.isCompleted() && p.getArrivalTime() > currentQuantum) {
-                        hasMoreProcesses = true;
-                        break;
-                    }
-                }
-                
-                if (!hasMoreProcesses) {
-                    break;
-                }
-                
-                timeline.append('-');
-                currentQuantum++;
-                continue;
-            }
-            
-            // If this is the first time the process is getting CPU, set response time
-            if (selectedProcess.getResponseTime() == -1) {
-                selectedProcess.setResponseTime(currentQuantum);
-            }
-            
-            // Execute process for one quantum
-            selectedProcess.setRemainingTime(selectedProcess.getRemainingTime() - 1);
-            
-            // Add process name to timeline
-            timeline.append(selectedProcess.getProcessName());
-            
-            // If process completed, set completion time and remove from queue
-            if (selectedProcess.isCompleted()) {
-                selectedProcess.setCompletionTime(currentQuantum + 1);
-                removeFromPriorityQueue(selectedProcess);
-                completedProcesses++;
-            }
-            
-            // For preemptive HPF, if process is not completed, move to end of same priority queue
-            // For non-preemptive HPF, this doesn't matter since process completes in one go
-            if (!selectedProcess.isCompleted() && isPreemptive) {
-                // Process is already at the end since we're using FIFO within priority
-                // No need to move it
-            }
-            
-            // Move to next quantum
-            currentQuantum++;
+        String timeline = new SimulationKernel(table, this).run().render();
+        table.copyResultsTo(processes);
+        return timeline;
+    }
+    
+    @Override
+    public long horizon() {
+        return horizon;
+    }
+    
+    @Override
+    public void admit(int job, long now) {
+        int priority = table.getPriority(job);
+        if (priority < 1 || priority > priorityQueues.levels()) {
+            throw new IllegalArgumentException("Priority " + priority + " of job " + job
+                    + " is outside 1.." + priorityQueues.levels());
         }
-        
-        return timeline.toString();
+        ageIfDue(now);
+        if (job >= level.length) {
+            int capacity = Math.max(job + 1, level.length * 2);
+            level = Arrays.copyOf(level, capacity);
+            enteredLevel = Arrays.copyOf(enteredLevel, capacity);
+            resumed = Arrays.copyOf(resumed, capacity);
+        }
+        level[job] = priority - 1;
+        enteredLevel[job] = now;
+        resumed[job] = false;
+        priorityQueues.addLast(priority - 1, job);
     }
     
     /**
-     * Find the highest priority process available for execution
-     * Returns null if no processes are available
+     * Take the highest priority process available for execution out of its queue
+     * Returns -1 if no processes are available
      */
-    private Process getHighestPriorityProcess() {
-        // Check priority queues in order (1=highest, 4=lowest)
-        for (int priority = 1; priority <= 4; priority++) {
-            List<Process> queue = priorityQueues.get(priority - 1);
-            if (!queue.isEmpty()) {
-                // For both preemptive and non-preemptive, use FCFS within priority level
-                return queue.get(0);
-            }
-        }
-        return null;
+    @Override
+    public int pickNext(long now) {
+        ageIfDue(now);
+        // For both preemptive and non-preemptive, use FCFS within priority level
+        return priorityQueues.pollFirst();
     }
     
     /**
-     * Check if a process is already in any priority queue
+     * Non-preemptive: the selected process runs to completion.
+     * Preemptive: the selected process keeps the CPU until a new process arrives, which may
+     * have a higher priority, or until waiting jobs of its level or below may be promoted above it
      */
-    private boolean isInAnyQueue(Process process) {
-        for (List<Process> queue : priorityQueues) {
-            if (queue.contains(process)) {
-                return true;
-            }
+    @Override
+    public long sliceFor(int job, long now, long nextAdmission) {
+        if (!isPreemptive) {
+            return Long.MAX_VALUE;
         }
-        return false;
+        ageIfDue(now);
+        long slice = nextAdmission - now;
+        if (agingThreshold > 0 && level[job] > 0 && hasWaitersFrom(level[job])) {
+            slice = Math.min(slice, nextAging - now);
+        }
+        return slice;
     }
     
     /**
-     * Remove a process from its priority queue
+     * A preempted process goes back to the head of its queue and waits there from now on
+     * for aging (never called when non-preemptive)
      */
-    private void removeFromPriorityQueue(Process process) {
-        for (List<Process> queue : priorityQueues) {
-            if (queue.contains(process)) {
-                queue.remove(process);
-                break;
-            }
-        }
+    @Override
+    public void onTick(int job, long now, long ran) {
+        enteredLevel[job] = now;
+        resumed[job] = true;
+        priorityQueues.addFirst(level[job], job);
+    }
+    
+    @Override
+    public void onComplete(int job, long now) {
+        // The process was taken out of its queue when it was picked
     }
     
     /**
@@ -182,7 +210,7 @@ public class HPFScheduler {
         List<List<Process>> processesByPriority = new ArrayList<>();
         
         // Initialize lists for each priority level
-        for (int i = 0; i < 4; i++) {
+        for (int i = 0; i < priorityQueues.levels(); i++) {
             processesByPriority.add(new ArrayList<>());
         }
         
@@ -195,5 +223,66 @@ public class HPFScheduler {
         
         return processesByPriority;
     }
-}
+    
+    /**
+     * Run the promotion rounds of the epochs that started by now, in order. Once no level
+     * but the highest has waiters the remaining rounds cannot promote anything and are skipped.
+     */
+    private void ageIfDue(long now) {
+        if (agingThreshold == 0 || now < nextAging) {
+            return;
+        }
+        long lastEpoch = now - now % agingThreshold;
+        while (nextAging <= lastEpoch && hasWaitersFrom(1)) {
+            promote(nextAging);
+            nextAging += agingThreshold;
+        }
+        nextAging = lastEpoch + agingThreshold;
+    }
+
+    /**
+     * At the start of an epoch, move the jobs that waited at least a whole threshold in
+     * their level up one level. Levels are handled top down, so a job climbs at most one
+     * level per epoch. Jobs that run are out of their queues and are not promoted; preempted
+     * jobs at the head of a level that are not due keep their place in front.
+     */
+    private void promote(long epochStart) {
+        long dueBy = epochStart - agingThreshold;
+        for (int i = 1; i < priorityQueues.levels(); i++) {
+            int heldCount = 0;
+            while (!priorityQueues.isEmpty(i)) {
+                int job = priorityQueues.peekFirst(i);
+                if (enteredLevel[job] <= dueBy) {
+                    priorityQueues.pollFirst(i);
+                    level[job] = i - 1;
+                    enteredLevel[job] = epochStart;
+                    resumed[job] = false;
+                    priorityQueues.addLast(i - 1, job);
+                    promotions++;
+                } else if (resumed[job]) {
+                    if (heldCount == held.length) {
+                        held = Arrays.copyOf(held, heldCount * 2);
+                    }
+                    held[heldCount++] = priorityQueues.pollFirst(i);
+                } else {
+                    break;
+                }
+            }
+            while (heldCount > 0) {
+                priorityQueues.addFirst(i, held[--heldCount]);
+            }
+        }
+    }
 
+    /**
+     * Check if a job waits in the given level or a lower one
+     */
+    private boolean hasWaitersFrom(int fromLevel) {
+        for (int i = fromLevel; i < priorityQueues.levels(); i++) {
+            if (!priorityQueues.isEmpty(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,230 @@
+package HPF;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import utilities.MultilevelQueue;
+import utilities.Process;
+import utilities.ProcessTable;
+import utilities.Scheduler;
+import utilities.SimulationKernel;
+
+/**
+ * Multilevel Feedback Queue (MLFQ) CPU Scheduling Algorithm
+ * MLFQ uses the priority queues of HPF, but a job's level follows how it uses the CPU
+ * instead of its priority:
+ * - A new job enters the highest level
+ * - The time slice doubles from one level to the next (1, 2, 4 and 8 quanta by default)
+ * - A job that uses up the slice of its level moves down a level; the lowest level is round robin
+ * - A job preempted by a new job keeps its place and what is left of its slice
+ * - Every boost interval all jobs move back to the highest level, so long jobs do not starve
+ *
+ * Short interactive jobs finish in the upper levels with low response times while
+ * CPU-heavy jobs sink. Priorities of the processes do not change the schedule, they are
+ * only used to report statistics per priority level.
+ */
+public class MLFQScheduler implements Scheduler {
+
+    // Don't start new processes after quantum 99
+    private static final int DEFAULT_HORIZON = 100;
+    private static final int DEFAULT_LEVELS = 4;
+    private static final int DEFAULT_BASE_SLICE = 1;
+    public static final int DEFAULT_BOOST_INTERVAL = 20;
+
+    private List<Process> processes;
+    private ProcessTable table;
+    private int horizon;
+
+    // Level 0 is the highest, its jobs run first
+    private MultilevelQueue queues;
+    private long[] slices;
+    private int boostInterval;
+    private long nextBoost;
+    private int boosts;
+
+    // Per job: its level, quanta used of the level's slice and the boost it was queued after
+    private int[] level;
+    private long[] used;
+    private int[] boostSeen;
+
+    public MLFQScheduler(List<Process> processes) {
+        this(ProcessTable.fromProcesses(processes));
+        this.processes.addAll(processes);
+    }
+
+    public MLFQScheduler(ProcessTable table) {
+        this(table, DEFAULT_LEVELS, DEFAULT_BASE_SLICE, DEFAULT_BOOST_INTERVAL);
+    }
+
+    /**
+     * @param levels - number of queue levels
+     * @param baseSlice - time slice of the highest level, each level below doubles it
+     * @param boostInterval - quanta between two boosts of all jobs to the highest level
+     */
+    public MLFQScheduler(ProcessTable table, int levels, int baseSlice, int boostInterval) {
+        this(table, levels, baseSlice, boostInterval, DEFAULT_HORIZON);
+    }
+
+    /**
+     * @param levels - number of queue levels
+     * @param baseSlice - time slice of the highest level, each level below doubles it
+     * @param boostInterval - quanta between two boosts of all jobs to the highest level
+     * @param horizon - quantum from which no new processes are admitted
+     */
+    public MLFQScheduler(ProcessTable table, int levels, int baseSlice, int boostInterval, int horizon) {
+        if (baseSlice < 1) {
+            throw new IllegalArgumentException("Time slice must be at least 1 quantum: " + baseSlice);
+        }
+        if (boostInterval < 1) {
+            throw new IllegalArgumentException("Boost interval must be at least 1 quantum: " + boostInterval);
+        }
+        this.processes = new ArrayList<>();
+        this.table = table;
+        this.horizon = horizon;
+        this.queues = new MultilevelQueue(levels);
+        this.slices = new long[levels];
+        for (int i = 0; i < levels; i++) {
+            // Slices of the levels below the 32nd are longer than any job
+            slices[i] = i < 32 ? (long) baseSlice << i : Long.MAX_VALUE;
+        }
+        this.boostInterval = boostInterval;
+        this.nextBoost = boostInterval;
+        this.boosts = 0;
+        int capacity = Math.max(16, table.size());
+        this.level = new int[capacity];
+        this.used = new long[capacity];
+        this.boostSeen = new int[capacity];
+    }
+
+    /**
+     * Simulate the MLFQ scheduling algorithm
+     * Returns the timeline string showing which process ran at each quantum
+     */
+    public String simulate() {
+        String timeline = new SimulationKernel(table, this).run().render();
+        table.copyResultsTo(processes);
+        return timeline;
+    }
+
+    @Override
+    public long horizon() {
+        return horizon;
+    }
+
+    /**
+     * A new job enters the highest level with a full slice
+     */
+    @Override
+    public void admit(int job, long now) {
+        boostIfDue(now);
+        if (job >= level.length) {
+            int capacity = Math.max(job + 1, level.length * 2);
+            level = Arrays.copyOf(level, capacity);
+            used = Arrays.copyOf(used, capacity);
+            boostSeen = Arrays.copyOf(boostSeen, capacity);
+        }
+        level[job] = 0;
+        used[job] = 0;
+        boostSeen[job] = boosts;
+        queues.addLast(0, job);
+    }
+
+    /**
+     * Take the first job of the highest non-empty level, it is requeued by onTick()
+     * Returns -1 if no processes are available
+     */
+    @Override
+    public int pickNext(long now) {
+        boostIfDue(now);
+        return queues.pollFirst();
+    }
+
+    /**
+     * The rest of the slice of the job's level, ended early by an arrival if the job
+     * is below the highest level, and by the next boost
+     */
+    @Override
+    public long sliceFor(int job, long now, long nextAdmission) {
+        boostIfDue(now);
+        catchUpBoost(job);
+        long slice = Math.min(slices[level[job]] - used[job], nextBoost - now);
+        if (level[job] > 0 && nextAdmission != Long.MAX_VALUE) {
+            slice = Math.min(slice, nextAdmission - now);
+        }
+        return slice;
+    }
+
+    /**
+     * A job that used up its slice moves down a level, behind the jobs there.
+     * A preempted job goes back to the head of its level, as if it had stayed there.
+     */
+    @Override
+    public void onTick(int job, long now, long ran) {
+        boostIfDue(now);
+        if (catchUpBoost(job)) {
+            queues.addFirst(0, job);
+            return;
+        }
+        used[job] += ran;
+        if (used[job] < slices[level[job]]) {
+            queues.addFirst(level[job], job);
+            return;
+        }
+        level[job] = Math.min(level[job] + 1, queues.levels() - 1);
+        used[job] = 0;
+        queues.addLast(level[job], job);
+    }
+
+    @Override
+    public void onComplete(int job, long now) {
+        // The job was taken out of its queue when it was picked
+    }
+
+    /**
+     * Get list of processes that actually ran (for statistics)
+     */
+    public List<Process> getProcessesThatRan() {
+        List<Process> ranProcesses = new ArrayList<>();
+        for (Process p : processes) {
+            if (p.getResponseTime() != -1) {
+                ranProcesses.add(p);
+            }
+        }
+        return ranProcesses;
+    }
+
+    /**
+     * Move every queued job to the highest level with a full slice, once the boost interval
+     * has passed. The jobs keep their order: level by level, first come first.
+     * Jobs out of the queue while they run catch up with catchUpBoost().
+     */
+    private void boostIfDue(long now) {
+        if (now < nextBoost) {
+            return;
+        }
+        boosts++;
+        nextBoost = (now / boostInterval + 1) * boostInterval;
+        for (int i = 0; i < queues.levels(); i++) {
+            for (int count = queues.size(i); count > 0; count--) {
+                int job = queues.pollFirst(i);
+                level[job] = 0;
+                used[job] = 0;
+                boostSeen[job] = boosts;
+                queues.addLast(0, job);
+            }
+        }
+    }
+
+    /**
+     * Move a running job to the highest level if a boost happened since it was picked
+     * Returns true if it was moved
+     */
+    private boolean catchUpBoost(int job) {
+        if (boostSeen[job] == boosts) {
+            return false;
+        }
+        level[job] = 0;
+        used[job] = 0;
+        boostSeen[job] = boosts;
+        return true;
+    }
+}
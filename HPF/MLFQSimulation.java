@@ -0,0 +1,49 @@
+package HPF;
+import utilities.ReportOptions;
+import utilities.SimulationDriver;
+import utilities.UnifiedWorkloadGenerator;
+import utilities.Workload;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+
+/**
+ * Main class to run MLFQ (Multilevel Feedback Queue) scheduling simulation
+ * Runs multiple iterations on the workload of the HPF simulation and reports
+ * the same statistics, those of every priority level included
+ *
+ * Usage: java HPF.MLFQSimulation [--format table|csv|jsonl|binary] [--output file]
+ */
+public class MLFQSimulation {
+
+    private static final int NUM_ITERATIONS = 5;
+
+    public static void main(String[] args) {
+        ReportOptions options = ReportOptions.parse(args);
+
+        // Create a buffered PrintStream that writes to a file
+        try (PrintStream out = options.openOutput("MLFQSimulationOutput.txt")) {
+            if (options.isTable()) {
+                out.println("=======================================================================================================");
+                out.println("                    MULTILEVEL FEEDBACK QUEUE (MLFQ) SCHEDULING SIMULATION");
+                out.println("========================================================================================================");
+                out.println();
+            }
+
+            // Same workload as HPF, so the two can be compared level by level
+            Workload workload = Workload.fromProcesses(UnifiedWorkloadGenerator.generateUnifiedWorkload());
+
+            SimulationDriver driver = new SimulationDriver("MLFQ [Preemptive]",
+                    iteration -> workload,
+                    MLFQScheduler::new);
+            driver.setIterations(NUM_ITERATIONS);
+            driver.setOutput(out);
+            driver.setReportFormat(options.getFormat());
+            driver.setReportPriorityLevels(true);
+            driver.run();
+        }
+        catch(FileNotFoundException e) {
+            System.err.println("Error: Unable to create output file.");
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package MultiCore;
+import Sweep.Algorithm;
+import Sweep.WorkloadSpec;
+import utilities.IterationResult;
+import utilities.LoadBalancing;
+import utilities.MultiCoreKernel;
+import utilities.ProcessTable;
+import utilities.ReportFormat;
+import utilities.ReportOptions;
+import utilities.RunStatistics;
+import utilities.StatisticsCollector;
+import utilities.TableReport;
+import utilities.Timeline;
+import utilities.Workload;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Main class to run a scheduling algorithm on several CPUs
+ * Runs the same workload with every load balancing strategy (or the one given)
+ * and reports utilization, context switches and migrations per CPU
+ * The csv, jsonl and binary formats hold the jobs and the summary of every strategy, without the per-CPU rows
+ * and the timelines.
+ *
+ * Usage: java MultiCore.MultiCoreSimulation [--algorithm RR] [--cores 4]
+ *            [--balancing global_queue|periodic|work_stealing|partitioned] [--interval 10]
+ *            [--threads n] [--jobs n] [--seed 0] [--horizon 100] [--slice 1] [--levels 4]
+ *            [--format table|csv|jsonl|binary] [--output file]
+ * --threads sets the threads that simulate the CPUs with partitioned balancing,
+ * all available processors by default; the results do not depend on it
+ */
+public class MultiCoreSimulation {
+
+    private static final String LINE = "----------------------------------------------------------------------------------------------------";
+    private static final String DOUBLE_LINE = "========================================================================================================";
+
+    // Jobs per CPU of the default workload, enough to keep every CPU busy
+    private static final int JOBS_PER_CORE = 25;
+
+    public static void main(String[] args) {
+        ReportOptions options = ReportOptions.parse(args);
+        args = options.getArguments();
+        Algorithm algorithm = Algorithm.RR;
+        int cores = 4;
+        LoadBalancing[] strategies = LoadBalancing.values();
+        int interval = MultiCoreKernel.DEFAULT_BALANCE_INTERVAL;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int jobs = -1;
+        long seed = 0;
+        int horizon = 100;
+        int timeSlice = 1;
+        int levels = 4;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--algorithm":
+                    algorithm = Algorithm.valueOf(value.toUpperCase());
+                    break;
+                case "--cores":
+                    cores = Integer.parseInt(value);
+                    break;
+                case "--balancing":
+                    strategies = new LoadBalancing[] {LoadBalancing.valueOf(value.toUpperCase())};
+                    break;
+                case "--interval":
+                    interval = Integer.parseInt(value);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "--jobs":
+                    jobs = Integer.parseInt(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--horizon":
+                    horizon = Integer.parseInt(value);
+                    break;
+                case "--slice":
+                    timeSlice = Integer.parseInt(value);
+                    break;
+                case "--levels":
+                    levels = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (args.length % 2 != 0) {
+            throw new IllegalArgumentException("Missing value for option: " + args[args.length - 1]);
+        }
+        if (jobs < 0) {
+            jobs = JOBS_PER_CORE * cores;
+        }
+
+        // Every strategy runs on the same jobs
+        Workload workload = Workload.fromProcesses(new WorkloadSpec(seed, jobs, horizon, levels).generate());
+
+        // Standard output unless --output is given
+        try (PrintStream out = options.openOutput(null)) {
+            ReportFormat format = options.getFormat();
+            if (options.isTable()) {
+                out.println(DOUBLE_LINE);
+                out.println("                    MULTI-CORE SCHEDULING SIMULATION");
+                out.println(DOUBLE_LINE);
+                out.println();
+                out.printf("Algorithm: %s, %d CPUs, %d jobs (seed %d, horizon %d)%n", algorithm, cores, jobs, seed, horizon);
+                out.println();
+            } else {
+                format.writeHeader(out);
+            }
+
+            for (LoadBalancing balancing : strategies) {
+                ProcessTable table = new ProcessTable(workload);
+                Algorithm policy = algorithm;
+                int admissionHorizon = horizon;
+                int slice = timeSlice;
+                int priorityLevels = levels;
+                MultiCoreKernel kernel = new MultiCoreKernel(table,
+                        t -> policy.create(t, admissionHorizon, slice, priorityLevels), cores, balancing);
+                kernel.setBalanceInterval(interval);
+                kernel.setThreads(threads);
+                kernel.setRecordTimeline(false);
+                StatisticsCollector collector = new StatisticsCollector();
+                kernel.addCompletionListener(collector);
+                kernel.run();
+
+                RunStatistics statistics = collector.getStatistics();
+                statistics.setContextSwitches(kernel.getContextSwitches(), kernel.getSwitchOverhead());
+                if (options.isTable()) {
+                    printReport(out, kernel, balancing, statistics);
+                } else {
+                    String name = algorithm + " on " + cores + " CPUs " + balancing;
+                    format.writeIteration(out, new IterationResult(name, 1, table, ranJobs(table), new Timeline(),
+                            statistics, false));
+                    format.writeSummary(out, name, 1, statistics);
+                }
+            }
+        }
+        catch(FileNotFoundException e) {
+            System.err.println("Error: Unable to create output file.");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Jobs that got a CPU at least once, in id order
+     */
+    private static int[] ranJobs(ProcessTable table) {
+        int ranCount = 0;
+        int[] ranJobs = new int[table.size()];
+        for (int job = 0; job < table.size(); job++) {
+            if (table.hasStarted(job)) {
+                ranJobs[ranCount++] = job;
+            }
+        }
+        return Arrays.copyOf(ranJobs, ranCount);
+    }
+
+    private static void printReport(PrintStream out, MultiCoreKernel kernel, LoadBalancing balancing, RunStatistics s) {
+        out.println("Load Balancing: " + balancing);
+        out.println(LINE);
+        out.println("CPU | Busy Quanta | Utilization | Context Switches | Migrations | Completed");
+        out.println(LINE);
+        for (int core = 0; core < kernel.getCores(); core++) {
+            out.printf("%3d |   %6d    |   %5.1f%%    |      %6d      |   %6d   |  %6d%n",
+                    core,
+                    kernel.getBusyQuanta(core),
+                    kernel.getUtilization(core) * 100,
+                    kernel.getContextSwitches(core),
+                    kernel.getMigrations(core),
+                    kernel.getCompletedJobs(core));
+        }
+        out.println(LINE);
+        TableReport.printRunSummary(out, s);
+        out.printf("Migrations: %d, Jobs Rebalanced: %d, End Quantum: %d%n",
+                kernel.getMigrations(), kernel.getRebalanced(), kernel.getEndQuantum());
+        out.println(DOUBLE_LINE);
+        out.println();
+    }
+}
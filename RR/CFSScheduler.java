@@ -0,0 +1,133 @@
+package RR;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import utilities.Process;
+import utilities.ProcessTable;
+
+/**
+ * Completely Fair Scheduler (CFS) algorithm
+ * Every job has a weight and a virtual runtime that advances by the quanta it runs,
+ * scaled by NICE_0_WEIGHT / weight, so heavier jobs age slower. The job with the smallest
+ * virtual runtime runs next (ties go to the lower job id).
+ *
+ * Weights follow the priority like the nice levels of Linux: the lowest priority has
+ * weight NICE_0_WEIGHT and every level above it 1.25 times the weight of the level below.
+ * A running job gets its weighted part of the target latency, but at least the minimum
+ * granularity; with many jobs the latency stretches to jobs * minimum granularity.
+ * With a queue per CPU the period and the weights are those of the jobs on this CPU: a job
+ * that moves to another CPU leaves here and starts there at the minimum virtual runtime.
+ *
+ * A new job starts at the minimum virtual runtime, which follows the smallest virtual
+ * runtime of the jobs in the system but never decreases, so it cannot starve the others.
+ * The run queue is a red-black tree (TreeSet) keyed on (virtual runtime, job id): O(log n) per decision.
+ */
+public class CFSScheduler extends ProportionalShareScheduler {
+
+    public static final int DEFAULT_MIN_GRANULARITY = 1;
+    public static final int DEFAULT_TARGET_LATENCY = 6;
+
+    // Weight of the lowest priority, virtual runtime units per quantum at that weight
+    private static final int NICE_0_WEIGHT = 1024;
+    private static final long VRUNTIME_UNIT = 1L << 10;
+
+    private int minGranularity;
+    private int targetLatency;
+    private TreeSet<Integer> runQueue;
+    private long[] vruntime;
+    private long minVruntime;
+
+    public CFSScheduler(List<Process> processes) {
+        this(ProcessTable.fromProcesses(processes));
+        this.processes.addAll(processes);
+    }
+
+    public CFSScheduler(ProcessTable table) {
+        this(table, DEFAULT_MIN_GRANULARITY, DEFAULT_TARGET_LATENCY, DEFAULT_PRIORITY_LEVELS, DEFAULT_HORIZON);
+    }
+
+    /**
+     * @param minGranularity - quanta a job runs at least before the next job is selected
+     * @param targetLatency - quanta in which every waiting job should run once
+     * @param priorityLevels - processes have priorities 1..priorityLevels
+     * @param horizon - quantum from which no new processes are admitted
+     */
+    public CFSScheduler(ProcessTable table, int minGranularity, int targetLatency, int priorityLevels, int horizon) {
+        super(table, minGranularity, priorityLevels, horizon, job -> weightByPriority(table, priorityLevels, job));
+        if (targetLatency < 1) {
+            throw new IllegalArgumentException("Target latency must be at least 1 quantum: " + targetLatency);
+        }
+        this.minGranularity = minGranularity;
+        this.targetLatency = targetLatency;
+        this.vruntime = new long[Math.max(16, table.size())];
+        this.runQueue = new TreeSet<>((a, b) -> {
+            int byVruntime = Long.compare(vruntime[a], vruntime[b]);
+            return byVruntime != 0 ? byVruntime : Integer.compare(a, b);
+        });
+    }
+
+    /**
+     * Virtual runtime of a job, in quanta at the lowest priority
+     */
+    public double getVruntime(int job) {
+        return (double) vruntime[job] / VRUNTIME_UNIT;
+    }
+
+    /**
+     * The weighted part of the scheduling period, rounded up, at least the minimum granularity
+     * The active jobs and tickets are those on this CPU, the running job included.
+     */
+    @Override
+    protected long timeSlice(int job) {
+        long period = Math.max(targetLatency, (long) getActiveJobs() * minGranularity);
+        long slice = (period * getTickets(job) + getActiveTickets() - 1) / getActiveTickets();
+        return Math.max(minGranularity, slice);
+    }
+
+    @Override
+    protected void joined(int job) {
+        if (job >= vruntime.length) {
+            vruntime = Arrays.copyOf(vruntime, Math.max(job + 1, vruntime.length * 2));
+        }
+        vruntime[job] = minVruntime;
+    }
+
+    @Override
+    protected void ran(int job, long ran) {
+        vruntime[job] += ran * NICE_0_WEIGHT * VRUNTIME_UNIT / getTickets(job);
+        long smallest = runQueue.isEmpty() ? vruntime[job] : Math.min(vruntime[job], vruntime[runQueue.first()]);
+        minVruntime = Math.max(minVruntime, smallest);
+    }
+
+    @Override
+    protected void enqueue(int job) {
+        runQueue.add(job);
+    }
+
+    /**
+     * The leftmost job has the smallest virtual runtime of the jobs in the system
+     */
+    @Override
+    protected int dequeue() {
+        if (runQueue.isEmpty()) {
+            return -1;
+        }
+        int job = runQueue.pollFirst();
+        minVruntime = Math.max(minVruntime, vruntime[job]);
+        return job;
+    }
+
+    @Override
+    protected boolean remove(int job) {
+        return runQueue.remove(job);
+    }
+
+    private static int weightByPriority(ProcessTable table, int priorityLevels, int job) {
+        int priority = table.getPriority(job);
+        if (priority < 1 || priority > priorityLevels) {
+            throw new IllegalArgumentException("Priority " + priority + " of job " + job
+                    + " is outside 1.." + priorityLevels);
+        }
+        return (int) Math.round(NICE_0_WEIGHT * Math.pow(1.25, priorityLevels - priority));
+    }
+}
@@ -0,0 +1,54 @@
+package RR;
+import utilities.ProcessGenerator;
+import utilities.ReportOptions;
+import utilities.SimulationDriver;
+import utilities.Workload;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+
+/**
+ * Main class to run CFS (Completely Fair Scheduler) scheduling simulation
+ * Runs multiple iterations on the workload of the RR simulation, weights follow the
+ * priorities; reports the statistics of every priority level and the share error
+ *
+ * Usage: java RR.CFSSimulation [minGranularity] [targetLatency] [--format table|csv|jsonl|binary] [--output file]
+ */
+public class CFSSimulation {
+
+    private static final int NUM_ITERATIONS = 5;
+    private static final int NUM_PROCESSES = 50; // Generate enough to keep CPU busy
+    private static final int PRIORITY_LEVELS = 4;
+    private static final int HORIZON = 100;
+
+    public static void main(String[] args) {
+        ReportOptions options = ReportOptions.parse(args);
+        args = options.getArguments();
+        int minGranularity = args.length > 0 ? Integer.parseInt(args[0]) : CFSScheduler.DEFAULT_MIN_GRANULARITY;
+        int targetLatency = args.length > 1 ? Integer.parseInt(args[1]) : CFSScheduler.DEFAULT_TARGET_LATENCY;
+
+        // Create a buffered PrintStream that writes to a file
+        try (PrintStream out = options.openOutput("CFSSimulationOutput.txt")) {
+            if (options.isTable()) {
+                out.println("=======================================================================================================");
+                out.println("                    COMPLETELY FAIR SCHEDULER (CFS) SCHEDULING SIMULATION");
+                out.println("========================================================================================================");
+                out.println();
+            }
+
+            // Same seeds as RR, so the two can be compared iteration by iteration
+            SimulationDriver driver = new SimulationDriver("Completely Fair Scheduler (CFS) [Preemptive] min granularity "
+                    + minGranularity + ", target latency " + targetLatency,
+                    iteration -> Workload.fromProcesses(ProcessGenerator.generateProcesses(NUM_PROCESSES, iteration * 100)),
+                    table -> new CFSScheduler(table, minGranularity, targetLatency, PRIORITY_LEVELS, HORIZON));
+            driver.setIterations(NUM_ITERATIONS);
+            driver.setOutput(out);
+            driver.setReportFormat(options.getFormat());
+            driver.setReportPriorityLevels(true);
+            driver.run();
+        }
+        catch(FileNotFoundException e) {
+            System.err.println("Error: Unable to create output file.");
+            e.printStackTrace();
+        }
+    }
+}
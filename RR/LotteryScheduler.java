@@ -0,0 +1,75 @@
+package RR;
+import java.util.List;
+import java.util.Random;
+import utilities.FenwickTree;
+import utilities.Process;
+import utilities.ProcessTable;
+
+/**
+ * Lottery Scheduling algorithm
+ * Randomized proportional share: at every decision one ticket of the waiting jobs is
+ * drawn and its holder runs for a time slice, so each job gets its share of the CPU
+ * on average. The tickets of the waiting jobs are kept in a Fenwick tree indexed by
+ * job id; a draw and taking a job out or putting it back are O(log n).
+ * The draws are seeded, so a run can be repeated.
+ */
+public class LotteryScheduler extends ProportionalShareScheduler {
+
+    public static final long DEFAULT_SEED = 0;
+
+    private FenwickTree readyTickets;
+    private int readyJobs;
+    private Random random;
+
+    public LotteryScheduler(List<Process> processes) {
+        this(ProcessTable.fromProcesses(processes));
+        this.processes.addAll(processes);
+    }
+
+    public LotteryScheduler(ProcessTable table) {
+        this(table, 1, DEFAULT_PRIORITY_LEVELS, DEFAULT_HORIZON, DEFAULT_SEED);
+    }
+
+    /**
+     * @param timeSlice - quanta the winner of a draw may run before the next draw
+     * @param priorityLevels - processes have priorities 1..priorityLevels, tickets are priorityLevels + 1 - priority
+     * @param horizon - quantum from which no new processes are admitted
+     * @param seed - seed of the draws
+     */
+    public LotteryScheduler(ProcessTable table, int timeSlice, int priorityLevels, int horizon, long seed) {
+        super(table, timeSlice, priorityLevels, horizon);
+        this.readyTickets = new FenwickTree(Math.max(16, table.size()));
+        this.random = new Random(seed);
+    }
+
+    @Override
+    protected void enqueue(int job) {
+        readyTickets.set(job, getTickets(job));
+        readyJobs++;
+    }
+
+    /**
+     * Draw a ticket of the waiting jobs, its holder leaves the draws while it runs
+     * A job that waits alone wins without a draw, so splitting its run does not change later draws
+     */
+    @Override
+    protected int dequeue() {
+        if (readyJobs == 0) {
+            return -1;
+        }
+        long point = readyJobs > 1 ? random.nextLong(readyTickets.total()) : 0;
+        int job = readyTickets.find(point);
+        remove(job);
+        return job;
+    }
+
+    @Override
+    protected boolean remove(int job) {
+        if (readyTickets.get(job) == 0) {
+            return false;
+        }
+        readyTickets.set(job, 0);
+        readyJobs--;
+        return true;
+    }
+}
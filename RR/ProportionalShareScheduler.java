@@ -0,0 +1,370 @@
+package RR;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import utilities.Process;
+import utilities.ProcessTable;
+import utilities.ProportionalShare;
+import utilities.Scheduler;
+import utilities.SimulationKernel;
+
+/**
+ * Common part of the proportional share schedulers (stride, lottery and CFS scheduling)
+ * Every job holds tickets and gets the CPU in time slices, in proportion to its tickets
+ * among the tickets of all jobs in the system. By default the tickets follow the priority:
+ * with 4 priority levels a priority 1 job holds 4 tickets and a priority 4 job 1 ticket.
+ *
+ * The share a job is entitled to is followed with a virtual time: the quanta of CPU
+ * handed out per ticket so far, brought up to date at every event. A job that arrived
+ * at virtual time v0 is entitled to tickets * (v - v0) quanta by virtual time v, so the
+ * share error of a job costs O(1) when it completes instead of a pass over all jobs every quantum.
+ * The share is that of one CPU: with a queue per CPU a job that moves to another CPU
+ * leaves the scheduler of its old CPU and joins that of the new CPU as a new job.
+ */
+public abstract class ProportionalShareScheduler implements Scheduler, ProportionalShare {
+
+    // No new processes are admitted from quantum 100 on
+    protected static final int DEFAULT_HORIZON = 100;
+    protected static final int DEFAULT_PRIORITY_LEVELS = 4;
+
+    protected List<Process> processes;
+    protected ProcessTable table;
+    private int timeSlice;
+    private int priorityLevels;
+    private int horizon;
+    private IntUnaryOperator ticketsOf;
+    private int waiting;
+
+    // Quanta of CPU per ticket handed out until lastUpdate, tickets of the jobs in the system
+    private double virtualTime;
+    private long lastUpdate;
+    private long activeTickets;
+    private int activeJobs;
+    private int running;
+    private boolean pastHorizon;
+
+    // Per job: its tickets, the virtual time it was admitted at and the start of its current run
+    private int[] tickets;
+    private double[] admittedAt;
+    private long[] runStart;
+    private long[] received;
+
+    private int completedJobs;
+    private double shareErrorSum;
+    private double maxShareError;
+
+    /**
+     * @param timeSlice - quanta a job may run before the next job is selected
+     * @param priorityLevels - processes have priorities 1..priorityLevels
+     * @param horizon - quantum from which no new processes are admitted
+     */
+    protected ProportionalShareScheduler(ProcessTable table, int timeSlice, int priorityLevels, int horizon) {
+        this(table, timeSlice, priorityLevels, horizon, null);
+    }
+
+    /**
+     * @param timeSlice - quanta a job may run before the next job is selected
+     * @param priorityLevels - processes have priorities 1..priorityLevels
+     * @param horizon - quantum from which no new processes are admitted
+     * @param ticketsOf - tickets of a job id of the table, null for tickets by priority
+     */
+    protected ProportionalShareScheduler(ProcessTable table, int timeSlice, int priorityLevels, int horizon,
+                                         IntUnaryOperator ticketsOf) {
+        if (timeSlice < 1) {
+            throw new IllegalArgumentException("Time slice must be at least 1 quantum: " + timeSlice);
+        }
+        if (priorityLevels < 1) {
+            throw new IllegalArgumentException("Number of priority levels must be positive: " + priorityLevels);
+        }
+        this.processes = new ArrayList<>();
+        this.table = table;
+        this.timeSlice = timeSlice;
+        this.priorityLevels = priorityLevels;
+        this.horizon = horizon;
+        this.ticketsOf = ticketsOf != null ? ticketsOf : this::ticketsByPriority;
+        int capacity = Math.max(16, table.size());
+        this.tickets = new int[capacity];
+        this.admittedAt = new double[capacity];
+        this.runStart = new long[capacity];
+        this.received = new long[capacity];
+    }
+
+    /**
+     * Give the jobs explicit ticket counts instead of tickets by priority
+     *
+     * @param ticketsOf - tickets of a job id of the table, at least 1
+     */
+    public void setTickets(IntUnaryOperator ticketsOf) {
+        this.ticketsOf = ticketsOf;
+    }
+
+    /**
+     * Simulate the scheduling algorithm
+     * Returns the timeline string showing which process ran at each quantum
+     */
+    public String simulate() {
+        String timeline = new SimulationKernel(table, this).run().render();
+        table.copyResultsTo(processes);
+        return timeline;
+    }
+
+    @Override
+    public long horizon() {
+        return horizon;
+    }
+
+    /**
+     * The CPU clock runs through the whole admission window, even when idle
+     */
+    @Override
+    public boolean idlesUntilHorizon() {
+        return true;
+    }
+
+    /**
+     * The job is entitled to its share from its arrival on
+     */
+    @Override
+    public void admit(int job, long now) {
+        advanceTo(table.getArrivalTime(job));
+        join(job);
+        enqueue(job);
+        waiting++;
+    }
+
+    /**
+     * Take the job the policy selects out of the ready queue, it is requeued by onTick()
+     * Returns -1 if no processes are available
+     */
+    @Override
+    public int pickNext(long now) {
+        if (now >= horizon && !pastHorizon) {
+            dropUnstarted(now);
+        }
+        int job = dequeue();
+        if (job >= 0) {
+            waiting--;
+        }
+        return job;
+    }
+
+    /**
+     * One time slice. A job that is alone keeps the CPU until the next process arrives,
+     * which then takes part in the next decision.
+     */
+    @Override
+    public long sliceFor(int job, long now, long nextAdmission) {
+        if (!isInSystem(job)) {
+            join(job);
+        }
+        advanceTo(now);
+        running++;
+        runStart[job] = now;
+        if (waiting > 0) {
+            return timeSlice(job);
+        }
+        return nextAdmission == Long.MAX_VALUE ? Long.MAX_VALUE : nextAdmission - now;
+    }
+
+    @Override
+    public void onTick(int job, long now, long ran) {
+        advanceTo(now);
+        running--;
+        received[job] += ran;
+        ran(job, ran);
+        enqueue(job);
+        waiting++;
+    }
+
+    /**
+     * The job leaves the system, its share error is the CPU time it received
+     * minus what its tickets entitled it to while it was in the system
+     */
+    @Override
+    public void onComplete(int job, long now) {
+        advanceTo(now);
+        running--;
+        received[job] += now - runStart[job];
+        double error = Math.abs(getShareError(job));
+        leave(job);
+        completedJobs++;
+        shareErrorSum += error;
+        maxShareError = Math.max(maxShareError, error);
+    }
+
+    /**
+     * The job moves to another CPU, it leaves the system here without a share error
+     */
+    @Override
+    public void onMigrate(int job, long now) {
+        advanceTo(now);
+        leave(job);
+    }
+
+    /**
+     * CPU time received minus CPU time entitled to so far, in quanta, of a job in the system
+     * Positive if the job got more than its share
+     */
+    public double getShareError(int job) {
+        return received[job] - tickets[job] * (virtualTime - admittedAt[job]);
+    }
+
+    @Override
+    public double getMeanShareError() {
+        return completedJobs > 0 ? shareErrorSum / completedJobs : 0.0;
+    }
+
+    @Override
+    public double getMaxShareError() {
+        return maxShareError;
+    }
+
+    /**
+     * Get list of processes that actually ran (for statistics)
+     */
+    public List<Process> getProcessesThatRan() {
+        List<Process> ranProcesses = new ArrayList<>();
+        for (Process p : processes) {
+            if (p.getResponseTime() != -1) {
+                ranProcesses.add(p);
+            }
+        }
+        return ranProcesses;
+    }
+
+    protected int getTickets(int job) {
+        return tickets[job];
+    }
+
+    /**
+     * Tickets of all jobs in the system, running or waiting
+     */
+    protected long getActiveTickets() {
+        return activeTickets;
+    }
+
+    /**
+     * Number of jobs in the system, running or waiting
+     */
+    protected int getActiveJobs() {
+        return activeJobs;
+    }
+
+    /**
+     * Quanta of CPU handed out per ticket so far
+     */
+    protected double getVirtualTime() {
+        return virtualTime;
+    }
+
+    /**
+     * Quanta the job may run while other jobs are waiting
+     */
+    protected long timeSlice(int job) {
+        return timeSlice;
+    }
+
+    /**
+     * Called once when a job enters the system, before it is queued
+     */
+    protected void joined(int job) {
+    }
+
+    /**
+     * Called after a job ran for some quanta, before it is requeued
+     */
+    protected void ran(int job, long ran) {
+    }
+
+    /**
+     * Add a job to the ready queue
+     */
+    protected abstract void enqueue(int job);
+
+    /**
+     * Remove the job to run next from the ready queue, -1 if it is empty
+     */
+    protected abstract int dequeue();
+
+    /**
+     * Remove a job from the ready queue
+     * Returns false if it was not waiting
+     */
+    protected abstract boolean remove(int job);
+
+    /**
+     * A job enters the system with its tickets, also a job that was taken from the queue
+     * of another CPU and runs here; a job already in the system joins afresh
+     */
+    private void join(int job) {
+        if (isInSystem(job)) {
+            leave(job);
+        }
+        int count = ticketsOf.applyAsInt(job);
+        if (count < 1) {
+            throw new IllegalArgumentException("Job " + job + " must hold at least 1 ticket: " + count);
+        }
+        if (job >= tickets.length) {
+            int capacity = Math.max(job + 1, tickets.length * 2);
+            tickets = Arrays.copyOf(tickets, capacity);
+            admittedAt = Arrays.copyOf(admittedAt, capacity);
+            runStart = Arrays.copyOf(runStart, capacity);
+            received = Arrays.copyOf(received, capacity);
+        }
+        tickets[job] = count;
+        admittedAt[job] = virtualTime;
+        received[job] = 0;
+        activeTickets += count;
+        activeJobs++;
+        joined(job);
+    }
+
+    private void leave(int job) {
+        activeTickets -= tickets[job];
+        activeJobs--;
+        tickets[job] = 0;
+    }
+
+    private boolean isInSystem(int job) {
+        return job < tickets.length && tickets[job] > 0;
+    }
+
+    /**
+     * Hand out the CPU time of the running jobs since the last event to the tickets
+     * of all jobs in the system
+     */
+    private void advanceTo(long now) {
+        if (now <= lastUpdate) {
+            return;
+        }
+        if (running > 0) {
+            virtualTime += (double) running * (now - lastUpdate) / activeTickets;
+        }
+        lastUpdate = now;
+    }
+
+    /**
+     * Once the horizon has passed, a process that never got the CPU is ineligible for getting more.
+     * The waiting jobs that never ran leave the system at once, before the next job is selected.
+     */
+    private void dropUnstarted(long now) {
+        advanceTo(now);
+        pastHorizon = true;
+        for (int job = 0; job < tickets.length; job++) {
+            if (isInSystem(job) && !table.hasStarted(job) && remove(job)) {
+                leave(job);
+                waiting--;
+            }
+        }
+    }
+
+    private int ticketsByPriority(int job) {
+        int priority = table.getPriority(job);
+        if (priority < 1 || priority > priorityLevels) {
+            throw new IllegalArgumentException("Priority " + priority + " of job " + job
+                    + " is outside 1.." + priorityLevels);
+        }
+        return priorityLevels + 1 - priority;
+    }
+}
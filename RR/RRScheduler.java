@@ -1,27 +1,64 @@
 package RR;
 import java.util.ArrayList;
 import java.util.List;
+import utilities.IntRingBuffer;
 import utilities.Process;
+import utilities.ProcessTable;
+import utilities.Scheduler;
+import utilities.SimulationKernel;
 
 /**
  * Round Robin Scheduling algorithm 
+ * The ready queue is a circular buffer, the time slice length and the
+ * overhead of a context switch are configurable (1 quantum and free by default).
  */
-public class RRScheduler {
+public class RRScheduler implements Scheduler {
+    
+    // No new processes are admitted from quantum 100 on
+    private static final int DEFAULT_HORIZON = 100;
     
     private List<Process> processes;
-    private StringBuilder timeline;
-    private int currentQuantum;
-    private int processIndex;
+    private ProcessTable table;
+    private IntRingBuffer readyQueue;
+    private int timeSlice;
+    private int contextSwitchCost;
+    private int horizon;
     
     public RRScheduler(List<Process> processes) {
-        this.processes = new ArrayList<>();
-        // Create deep copies to avoid modifying original processes
-        for (Process p : processes) {
-            this.processes.add(p);
+        this(ProcessTable.fromProcesses(processes));
+        this.processes.addAll(processes);
+    }
+    
+    public RRScheduler(ProcessTable table) {
+        this(table, 1, 0);
+    }
+    
+    /**
+     * @param timeSlice - quanta a process may run before it goes to the end of the queue
+     * @param contextSwitchCost - quanta of overhead each time the CPU switches to another process
+     */
+    public RRScheduler(ProcessTable table, int timeSlice, int contextSwitchCost) {
+        this(table, timeSlice, contextSwitchCost, DEFAULT_HORIZON);
+    }
+    
+    /**
+     * @param timeSlice - quanta a process may run before it goes to the end of the queue
+     * @param contextSwitchCost - quanta of overhead each time the CPU switches to another process
+     * @param horizon - quantum from which no new processes are admitted
+     */
+    public RRScheduler(ProcessTable table, int timeSlice, int contextSwitchCost, int horizon) {
+        if (timeSlice < 1) {
+            throw new IllegalArgumentException("Time slice must be at least 1 quantum: " + timeSlice);
+        }
+        if (contextSwitchCost < 0) {
+            throw new IllegalArgumentException("Context switch cost must not be negative: " + contextSwitchCost);
         }
-        this.timeline = new StringBuilder();
-        this.currentQuantum = 0;
-        this.processIndex = 0;
+        this.processes = new ArrayList<>();
+        this.table = table;
+        this.readyQueue = new IntRingBuffer();
+        this.timeSlice = timeSlice;
+        this.contextSwitchCost = contextSwitchCost;
+        this.horizon = horizon;
     }
     
     /**
@@ -29,90 +66,78 @@ public class RRScheduler {
      * Returns the timeline string showing which process ran at each quantum
      */
     public String simulate() {
-        List<Process> readyQueue = new ArrayList<>();
-        int completedProcesses = 0;
-        int totalProcesses = processes.size();
-        
-        // Continue until all processes complete
-        while (currentQuantum < 100) {
-            // Add all processes that have arrived by current quantum to ready queue
-            for (int i = processIndex; i < processes.size(); i++) {
-                Process p = processes.get(i);
-                if (p.getArrivalTime() <= currentQuantum) {
-                    readyQueue.add(p); 
-                    processIndex += 1;
-                }
-                else {
-                    break;
-                }
-            }
+        String timeline = new SimulationKernel(table, this).run().render();
+        table.copyResultsTo(processes);
+        return timeline;
+    }
+    
+    @Override
+    public long horizon() {
+        return horizon;
+    }
+    
+    @Override
+    public int contextSwitchCost() {
+        return contextSwitchCost;
+    }
+    
+    @Override
+    public void admit(int job, long now) {
+        readyQueue.addLast(job);
+    }
+    
+    /**
+     * Select process at the beginning of the queue
+     */
+    @Override
+    public int pickNext(long now) {
+        while (!readyQueue.isEmpty()) {
+            int job = readyQueue.pollFirst();
             
-            // If ready queue is empty, CPU is idle
-            if (readyQueue.isEmpty()) {
-                timeline.append('-');
-                currentQuantum++;
+            // Once the horizon has passed, a process that never got the CPU is ineligible for getting more.
+            if (now >= horizon && !table.hasStarted(job)) {
                 continue;
             }
-            
-            // Select process at the beginning of the queue
-            Process selectedProcess = readyQueue.removeFirst();
-            
-            // If this is the first time the process is getting CPU, set response time
-            if (selectedProcess.getResponseTime() == -1) {
-                selectedProcess.setResponseTime(currentQuantum);
-            }
-            
-            // Execute process for one quantum
-            selectedProcess.setRemainingTime(selectedProcess.getRemainingTime() - 1);
-            
-            // Add process name to timeline
-            timeline.append(selectedProcess.getProcessName());
-            
-            // If process completed, set completion time and remove from ready queue. otherwise move to end.
-            if (selectedProcess.isCompleted()) {
-                selectedProcess.setCompletionTime(currentQuantum + 1);
-                readyQueue.remove(selectedProcess);
-                completedProcesses++;
-            }
-            else {
-                readyQueue.addLast(selectedProcess);
-            }
-            
-            // Move to next quantum
-            currentQuantum++;
+            return job;
         }
-        while(!readyQueue.isEmpty()) {
-            // Select process at the beginning of the queue
-            Process selectedProcess = readyQueue.removeFirst();
-
-            // If this is the first time the process is getting CPU, it is ineligible for getting more.
-            if (selectedProcess.getResponseTime() == -1) {
-                continue;
-            }
-
-            // Execute process for one quantum
-            selectedProcess.setRemainingTime(selectedProcess.getRemainingTime() - 1);
-
-            // Add process name to timeline
-            timeline.append(selectedProcess.getProcessName());
-
-            // If process completed, set completion time and remove from ready queue. otherwise move to end.
-            if (selectedProcess.isCompleted()) {
-                selectedProcess.setCompletionTime(currentQuantum + 1);
-                readyQueue.remove(selectedProcess);
-                completedProcesses++;
-            }
-            else {
-                readyQueue.addLast(selectedProcess);
-            }
-
-            // Move to next quantum
-            currentQuantum++;
+        return -1;
+    }
+    
+    /**
+     * One time slice. A process that is alone in the queue keeps the CPU
+     * until the end of the slice in which the next process arrives.
+     */
+    @Override
+    public long sliceFor(int job, long now, long nextAdmission) {
+        if (!readyQueue.isEmpty()) {
+            return timeSlice;
         }
-        return timeline.toString();
+        if (nextAdmission == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        return ((nextAdmission - now) / timeSlice + 1) * timeSlice;
+    }
+    
+    /**
+     * Process is not completed, move it to the end of the queue
+     */
+    @Override
+    public void onTick(int job, long now, long ran) {
+        readyQueue.addLast(job);
+    }
+    
+    @Override
+    public void onComplete(int job, long now) {
+        // Completed processes are not requeued
+    }
+    
+    /**
+     * The CPU clock runs through the whole admission window, even when idle
+     */
+    @Override
+    public boolean idlesUntilHorizon() {
+        return true;
     }
-
-
     
     /**
      * Get list of processes that actually ran (for statistics)
@@ -126,4 +151,4 @@ public class RRScheduler {
         }
         return ranProcesses;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package RR;
+import java.util.Arrays;
+import java.util.List;
+import utilities.IndexedMinHeap;
+import utilities.Process;
+import utilities.ProcessTable;
+
+/**
+ * Stride Scheduling algorithm
+ * Deterministic proportional share: every job has a stride inversely proportional to
+ * its tickets and a pass that advances by its stride for every quantum it runs.
+ * The job with the smallest pass runs next (ties go to the lower job id), so over any
+ * interval each job gets its share of the CPU to within a time slice.
+ * A new job starts at the global pass, the pass of a job that held one ticket
+ * since the start, so it neither catches up for the time before it arrived nor falls behind.
+ * The ready queue is an indexed min-heap on the pass: O(log n) per decision.
+ */
+public class StrideScheduler extends ProportionalShareScheduler {
+
+    // Pass advanced by one quantum of a job with one ticket
+    private static final long STRIDE1 = 1L << 20;
+
+    private IndexedMinHeap readyQueue;
+    private long[] pass;
+
+    public StrideScheduler(List<Process> processes) {
+        this(ProcessTable.fromProcesses(processes));
+        this.processes.addAll(processes);
+    }
+
+    public StrideScheduler(ProcessTable table) {
+        this(table, 1, DEFAULT_PRIORITY_LEVELS, DEFAULT_HORIZON);
+    }
+
+    /**
+     * @param timeSlice - quanta a job may run before the next job is selected
+     * @param priorityLevels - processes have priorities 1..priorityLevels, tickets are priorityLevels + 1 - priority
+     * @param horizon - quantum from which no new processes are admitted
+     */
+    public StrideScheduler(ProcessTable table, int timeSlice, int priorityLevels, int horizon) {
+        super(table, timeSlice, priorityLevels, horizon);
+        this.pass = new long[Math.max(16, table.size())];
+        this.readyQueue = new IndexedMinHeap((a, b) -> {
+            int byPass = Long.compare(pass[a], pass[b]);
+            return byPass != 0 ? byPass : Integer.compare(a, b);
+        }, pass.length);
+    }
+
+    @Override
+    protected void joined(int job) {
+        if (job >= pass.length) {
+            pass = Arrays.copyOf(pass, Math.max(job + 1, pass.length * 2));
+        }
+        pass[job] = (long) (getVirtualTime() * STRIDE1);
+    }
+
+    @Override
+    protected void ran(int job, long ran) {
+        pass[job] += STRIDE1 / getTickets(job) * ran;
+    }
+
+    @Override
+    protected void enqueue(int job) {
+        readyQueue.add(job);
+    }
+
+    @Override
+    protected int dequeue() {
+        return readyQueue.poll();
+    }
+
+    @Override
+    protected boolean remove(int job) {
+        if (!readyQueue.contains(job)) {
+            return false;
+        }
+        readyQueue.remove(job);
+        return true;
+    }
+}
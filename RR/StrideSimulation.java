@@ -0,0 +1,62 @@
+package RR;
+import utilities.ReportOptions;
+import utilities.SimulationDriver;
+import utilities.UnifiedWorkloadGenerator;
+import utilities.Workload;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+
+/**
+ * Main class to run the proportional share (stride or lottery) scheduling simulation
+ * Runs multiple iterations on the workload of the HPF simulation, tickets follow the
+ * priorities; reports the statistics of every priority level and the share error
+ *
+ * Usage: java RR.StrideSimulation [stride|lottery] [timeSlice] [--format table|csv|jsonl|binary] [--output file]
+ */
+public class StrideSimulation {
+
+    private static final int NUM_ITERATIONS = 5;
+    private static final int PRIORITY_LEVELS = 4;
+    private static final int HORIZON = 100;
+
+    public static void main(String[] args) {
+        ReportOptions options = ReportOptions.parse(args);
+        args = options.getArguments();
+        boolean lottery = args.length > 0 && args[0].equalsIgnoreCase("lottery");
+        if (args.length > 0 && !lottery && !args[0].equalsIgnoreCase("stride")) {
+            throw new IllegalArgumentException("Unknown policy " + args[0] + ", use stride or lottery");
+        }
+        int timeSlice = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+
+        // Create a buffered PrintStream that writes to a file
+        try (PrintStream out = options.openOutput(lottery ? "LotterySimulationOutput.txt" : "StrideSimulationOutput.txt")) {
+            if (options.isTable()) {
+                out.println("=======================================================================================================");
+                out.println(lottery
+                        ? "                    LOTTERY SCHEDULING SIMULATION"
+                        : "                    STRIDE SCHEDULING SIMULATION");
+                out.println("========================================================================================================");
+                out.println();
+            }
+
+            // Same workload as HPF, so the shares can be compared level by level
+            Workload workload = Workload.fromProcesses(UnifiedWorkloadGenerator.generateUnifiedWorkload());
+
+            SimulationDriver driver = new SimulationDriver((lottery ? "Lottery" : "Stride")
+                    + " [Preemptive] time slice " + timeSlice,
+                    iteration -> workload,
+                    lottery
+                            ? table -> new LotteryScheduler(table, timeSlice, PRIORITY_LEVELS, HORIZON, LotteryScheduler.DEFAULT_SEED)
+                            : table -> new StrideScheduler(table, timeSlice, PRIORITY_LEVELS, HORIZON));
+            driver.setIterations(NUM_ITERATIONS);
+            driver.setOutput(out);
+            driver.setReportFormat(options.getFormat());
+            driver.setReportPriorityLevels(true);
+            driver.run();
+        }
+        catch(FileNotFoundException e) {
+            System.err.println("Error: Unable to create output file.");
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package SJF_Scheduler;
+import SRT.SRTScheduler;
+import utilities.BurstPredictor;
+import utilities.ExponentialAveragePredictor;
+import utilities.MeanBurstPredictor;
+import utilities.Process;
+import utilities.ProcessTable;
+import utilities.ReportOptions;
+import utilities.RunStatistics;
+import utilities.Scheduler;
+import utilities.SimulationDriver;
+import utilities.Workload;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Main class to compare SJF and SRT on predicted bursts with SJF and SRT on the true runtimes
+ * Every job class (priority) has its own typical burst and the runtimes of its jobs spread
+ * around it by up to the noise. Every predictor learns the bursts of each class from the jobs
+ * that completed; the summary shows the prediction error and how much longer jobs wait and
+ * turn around than with the oracle.
+ *
+ * Usage: java SJF_Scheduler.PredictionSimulation [noise] [alpha] [--format table|csv|jsonl|binary] [--output file]
+ */
+public class PredictionSimulation {
+
+    private static final int NUM_ITERATIONS = 5;
+    private static final int NUM_PROCESSES = 50;
+    private static final int SIMULATION_TIME = 100;
+    private static final int HORIZON = 100;
+
+    // Typical burst of the jobs of priority 1..4
+    private static final int[] CLASS_BURSTS = {2, 4, 6, 8};
+
+    public static void main(String[] args) {
+        ReportOptions options = ReportOptions.parse(args);
+        args = options.getArguments();
+        int noise = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        double alpha = args.length > 1 ? Double.parseDouble(args[1]) : ExponentialAveragePredictor.DEFAULT_ALPHA;
+        if (noise < 0) {
+            throw new IllegalArgumentException("Noise must not be negative: " + noise);
+        }
+        double initialGuess = ExponentialAveragePredictor.DEFAULT_INITIAL_GUESS;
+
+        // Create a buffered PrintStream that writes to a file
+        try (PrintStream out = options.openOutput("PredictionSimulationOutput.txt")) {
+            if (options.isTable()) {
+                out.println("=======================================================================================================");
+                out.println("                    SJF / SRT WITH BURST PREDICTION SIMULATION");
+                out.println("========================================================================================================");
+                out.println();
+            }
+
+            // Different seed for each iteration, the same workloads for every predictor
+            List<Workload> workloads = new ArrayList<>();
+            for (int iteration = 1; iteration <= NUM_ITERATIONS; iteration++) {
+                workloads.add(generateWorkload(new Random(iteration * 100), noise));
+            }
+
+            // A null predictor is the oracle, which knows the true runtimes
+            List<String> names = List.of("Oracle", "Exponential average (alpha " + alpha + ")",
+                    "Last burst", "Class mean", "Initial guess only");
+            List<Supplier<BurstPredictor>> predictors = List.of(
+                    () -> null,
+                    () -> new ExponentialAveragePredictor(alpha, initialGuess),
+                    () -> new ExponentialAveragePredictor(1.0, initialGuess),
+                    () -> new MeanBurstPredictor(initialGuess),
+                    () -> new ExponentialAveragePredictor(0.0, initialGuess));
+
+            List<SimulationDriver> drivers = new ArrayList<>();
+            for (int p = 0; p < predictors.size(); p++) {
+                Supplier<BurstPredictor> predictor = predictors.get(p);
+                drivers.add(createDriver("Shortest Job First (SJF) [Non-Preemptive] " + names.get(p), workloads, table -> {
+                    BurstPredictor bursts = predictor.get();
+                    return bursts == null ? new SJFScheduler(table) : new SJFScheduler(table, bursts);
+                }));
+                drivers.add(createDriver("Shortest Remaining Time (SRT) [Preemptive] " + names.get(p), workloads, table -> {
+                    BurstPredictor bursts = predictor.get();
+                    return bursts == null ? new SRTScheduler(table, HORIZON) : new SRTScheduler(table, HORIZON, bursts);
+                }));
+            }
+            for (SimulationDriver driver : drivers) {
+                driver.setOutput(out);
+                driver.setReportFormat(options.getFormat());
+            }
+            List<RunStatistics> results = SimulationDriver.runAll(drivers);
+
+            if (options.isTable()) {
+                printComparison(out, names, results, noise);
+            }
+        }
+        catch(FileNotFoundException e) {
+            System.err.println("Error: Unable to create output file.");
+            e.printStackTrace();
+        }
+    }
+
+    private static SimulationDriver createDriver(String algorithmName, List<Workload> workloads,
+                                                 Function<ProcessTable, Scheduler> scheduler) {
+        SimulationDriver driver = new SimulationDriver(algorithmName, iteration -> workloads.get(iteration - 1), scheduler);
+        driver.setIterations(NUM_ITERATIONS);
+        return driver;
+    }
+
+    /**
+     * Wait and turnaround times of every predictor next to those of the oracle
+     * The results hold SJF and SRT of every predictor in turn, the oracle first
+     */
+    private static void printComparison(PrintStream out, List<String> names, List<RunStatistics> results, int noise) {
+        out.println();
+        out.println("========================================================================================================");
+        out.printf("                    PREDICTED VS TRUE BURSTS (noise %d quanta)%n", noise);
+        out.println("========================================================================================================");
+        out.println("Algorithm | Predictor                        | Pred Err | Avg WT  | Avg TAT | WT vs Oracle | TAT vs Oracle");
+        out.println("----------------------------------------------------------------------------------------------------");
+        for (int algorithm = 0; algorithm < 2; algorithm++) {
+            RunStatistics oracle = results.get(algorithm);
+            for (int p = 0; p < names.size(); p++) {
+                RunStatistics s = results.get(2 * p + algorithm);
+                out.printf("  %-7s | %-32s | %8.2f | %7.2f | %7.2f | %+11.1f%% | %+12.1f%%%n",
+                        algorithm == 0 ? "SJF" : "SRT", names.get(p), s.getMeanPredictionError(),
+                        s.getAvgWaitTime(), s.getAvgTurnaroundTime(),
+                        percentChange(s.getAvgWaitTime(), oracle.getAvgWaitTime()),
+                        percentChange(s.getAvgTurnaroundTime(), oracle.getAvgTurnaroundTime()));
+            }
+        }
+        out.println("========================================================================================================");
+    }
+
+    private static double percentChange(double value, double oracle) {
+        return oracle > 0 ? (value - oracle) / oracle * 100 : 0.0;
+    }
+
+    /**
+     * Random jobs whose runtime is the typical burst of their class plus or minus up to the noise
+     */
+    private static Workload generateWorkload(Random rand, int noise) {
+        List<Process> processes = new ArrayList<>();
+        for (int i = 0; i < NUM_PROCESSES; i++) {
+            int arrival = rand.nextInt(SIMULATION_TIME);
+            int jobClass = rand.nextInt(CLASS_BURSTS.length);
+            int runtime = Math.max(1, CLASS_BURSTS[jobClass] + rand.nextInt(2 * noise + 1) - noise);
+            processes.add(new Process(arrival, runtime, jobClass + 1));
+        }
+
+        // Sort processes by arrival time and assign process IDs after sorting
+        processes.sort(Comparator.comparingDouble(Process::getArrivalTime));
+        for (int i = 0; i < processes.size(); i++) {
+            processes.get(i).setPid(i);
+        }
+        return Workload.fromProcesses(processes);
+    }
+}
@@ -1,85 +1,118 @@
-
+package SJF_Scheduler;
+import utilities.BurstEstimator;
+import utilities.BurstPrediction;
+import utilities.BurstPredictor;
 import utilities.Process;
+import utilities.ProcessTable;
+import utilities.Scheduler;
+import utilities.SimulationKernel;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.PriorityQueue;
 
-public class SJFScheduler {
+/**
+ * Shortest Job First (SJF) CPU Scheduling Algorithm
+ * SJF is a non-preemptive scheduling algorithm where the arrived process
+ * with the shortest runtime is selected whenever the CPU becomes free
+ *
+ * By default the scheduler knows the true runtimes (an oracle). With a BurstPredictor
+ * it orders by the burst predicted for the job's class when the job arrived instead,
+ * shortest predicted burst first and the earliest arrival among equal predictions.
+ */
+public class SJFScheduler implements Scheduler, BurstPrediction {
+
+    private List<Process> processes;
+    private ProcessTable table;
+    private PriorityQueue<Integer> readyQueue;
+    private BurstEstimator estimator;
+
+    public SJFScheduler(List<Process> processes) {
+        this(ProcessTable.fromProcesses(processes));
+        this.processes.addAll(processes);
+    }
+
+    public SJFScheduler(ProcessTable table) {
+        this.processes = new ArrayList<>();
+        this.table = table;
+
+        // PriorityQueue to hold processes that have arrived, ordered by runtime (SJF)
+        this.readyQueue = new PriorityQueue<>(Comparator.comparingInt(table::getRuntime));
+    }
+
+    /**
+     * @param predictor - predicts the bursts the ready queue is ordered by
+     */
+    public SJFScheduler(ProcessTable table, BurstPredictor predictor) {
+        this.processes = new ArrayList<>();
+        this.table = table;
+        this.estimator = new BurstEstimator(table, predictor);
+
+        // PriorityQueue to hold processes that have arrived, ordered by predicted burst
+        this.readyQueue = new PriorityQueue<>(Comparator.comparingDouble(estimator::getEstimate)
+                .thenComparingInt(table::getArrivalTime)
+                .thenComparingInt(job -> job));
+    }
 
-    public static class Metrics {
-        public float avgTurnaroundTime;
-        public float avgWaitTime;
-        public float avgResponseTime;
+    /**
+     * Simulate the SJF scheduling algorithm
+     * Returns the timeline string showing which process ran at each quantum
+     */
+    public String simulate() {
+        String timeline = new SimulationKernel(table, this).run().render();
+        table.copyResultsTo(processes);
+        return timeline;
+    }
 
-        public Metrics(float avgTurnaroundTime, float avgWaitTime, float avgResponseTime) {
-            this.avgTurnaroundTime = avgTurnaroundTime;
-            this.avgWaitTime = avgWaitTime;
-            this.avgResponseTime = avgResponseTime;
+    @Override
+    public void admit(int job, long now) {
+        if (estimator != null) {
+            estimator.admit(job);
         }
+        readyQueue.add(job);
     }
 
-    public Metrics schedule(List<Process> processes) {
-        List<Process> processesCopy = new ArrayList<>(processes);
-        // Sort processes by arrival time initially
-        Collections.sort(processesCopy, Comparator.comparing(Process::getArrivalTime));
+    /**
+     * Get the process with the shortest runtime from the ready queue
+     */
+    @Override
+    public int pickNext(long now) {
+        return readyQueue.isEmpty() ? -1 : readyQueue.poll();
+    }
 
-        // PriorityQueue to hold processes that have arrived, ordered by runtime (SJF)
-        PriorityQueue<Process> readyQueue = new PriorityQueue<>(Comparator.comparing(Process::getRuntime));
-
-        float currentTime = 0;
-        int completedProcesses = 0;
-        int n = processesCopy.size();
-
-        float totalTurnaroundTime = 0;
-        float totalWaitTime = 0;
-        float totalResponseTime = 0;
-
-        // Index for processes that have not yet arrived
-        int processIndex = 0;
-
-        while (completedProcesses < n) {
-            // Add processes that have arrived by the current time to the ready queue
-            while (processIndex < n && processesCopy.get(processIndex).getArrivalTime() <= currentTime) {
-                readyQueue.add(processesCopy.get(processIndex));
-                processIndex++;
-            }
-
-            if (readyQueue.isEmpty()) {
-                // If no processes are in the ready queue, advance time to the arrival of the next process
-                if (processIndex < n) {
-                    currentTime = processesCopy.get(processIndex).getArrivalTime();
-                } else {
-                    // Should not happen if workload is properly generated and verified
-                    break;
-                }
-            } else {
-                // Get the process with the shortest runtime from the ready queue (non-preemptive)
-                Process currentProcess = readyQueue.poll();
-
-                // Set response time if not already set (first time CPU is allocated)
-                if (currentProcess.getResponseTime() == -1.0f) {
-                    currentProcess.setResponseTime(currentTime);
-                }
-
-                // Execute the process
-                currentTime += currentProcess.getRuntime();
-                currentProcess.setCompletionTime(currentTime);
-                completedProcesses++;
-
-                totalTurnaroundTime += currentProcess.getTurnaroundTime();
-                totalWaitTime += currentProcess.getWaitTime();
-                totalResponseTime += currentProcess.getResponseTimeValue();
-            }
+    /**
+     * Non-preemptive: once started, a process runs to completion
+     */
+    @Override
+    public long sliceFor(int job, long now, long nextAdmission) {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public void onTick(int job, long now, long ran) {
+        // Never called, processes are not preempted
+    }
+
+    @Override
+    public void onComplete(int job, long now) {
+        // Process already left the ready queue when it was selected
+        if (estimator != null) {
+            estimator.complete(job);
         }
+    }
+
+    @Override
+    public boolean isPredictingBursts() {
+        return estimator != null;
+    }
 
-        Metrics metrics = new Metrics(
-            totalTurnaroundTime / n,
-            totalWaitTime / n,
-            totalResponseTime / n
-        );
+    @Override
+    public double getMeanPredictionError() {
+        return estimator != null ? estimator.getMeanError() : 0.0;
+    }
 
-        return metrics;
+    @Override
+    public double getMaxPredictionError() {
+        return estimator != null ? estimator.getMaxError() : 0.0;
     }
-}
\ No newline at end of file
+}
@@ -1,25 +1,34 @@
-
-import utilities.Process;
+package SJF_Scheduler;
+import utilities.ReportOptions;
+import utilities.SimulationDriver;
+import utilities.Workload;
 import utilities.WorkloadGenerator;
-import java.util.List;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
 
+/**
+ * Main class to run SJF scheduling simulation
+ * Runs multiple iterations and calculates average statistics
+ *
+ * Usage: java SJF_Scheduler.SJFSimulation [--format table|csv|jsonl|binary] [--output file]
+ */
 public class SJFSimulation {
 
-    public static void main(String[] args) {
-        // Generate workload
-        List<Process> processes = WorkloadGenerator.generateAndVerifyWorkload();
-
-        // Create scheduler instance
-        SJFScheduler scheduler = new SJFScheduler();
+    private static final int NUM_ITERATIONS = 5;
 
-        // Run simulation and get metrics
-        SJFScheduler.Metrics metrics = scheduler.schedule(processes);
+    public static void main(String[] args) throws FileNotFoundException {
+        ReportOptions options = ReportOptions.parse(args);
 
-        // Print results
-        System.out.println("SJF (Non-Preemptive) Scheduling Simulation Results:");
-        System.out.println("--------------------------------------------------");
-        System.out.printf("Average Turnaround Time: %.2f%n", metrics.avgTurnaroundTime);
-        System.out.printf("Average Wait Time: %.2f%n", metrics.avgWaitTime);
-        System.out.printf("Average Response Time: %.2f%n", metrics.avgResponseTime);
+        // The verified workload has a fixed seed, generate it once and share it between iterations
+        Workload workload = Workload.fromProcesses(WorkloadGenerator.generateAndVerifyWorkload());
+        SimulationDriver driver = new SimulationDriver("Shortest Job First (SJF) [Non-Preemptive]",
+                iteration -> workload,
+                SJFScheduler::new);
+        driver.setIterations(NUM_ITERATIONS);
+        driver.setReportFormat(options.getFormat());
+        try (PrintStream out = options.openOutput(null)) {
+            driver.setOutput(out);
+            driver.run();
+        }
     }
-}
\ No newline at end of file
+}
@@ -10,7 +10,7 @@ cd "$PROJECT_ROOT"
 echo "Compiling Java files..."
 # Compile the Java files from the project root
 # The -d . argument ensures that the compiled .class files are placed in their respective directories
-javac -d . SJF_Scheduler/*.java utilities/*.java
+javac -d . SJF_Scheduler/*.java SRT/*.java utilities/*.java
 
 # Check for compilation errors
 if [ $? -ne 0 ]; then
@@ -21,5 +21,4 @@ fi
 echo "Compilation successful. Running simulation..."
 
 # Run the simulation from the project root
-# The -cp argument specifies the classpath, including both SJF_Scheduler and utilities directories.
-java -cp .:utilities SJFSimulation
\ No newline at end of file
+java -cp . SJF_Scheduler.SJFSimulation
\ No newline at end of file
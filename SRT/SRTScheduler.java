@@ -1,26 +1,64 @@
+package SRT;
 import java.util.ArrayList;
 import java.util.List;
+import utilities.BurstEstimator;
+import utilities.BurstPrediction;
+import utilities.BurstPredictor;
+import utilities.IndexedMinHeap;
 import utilities.Process;
+import utilities.ProcessTable;
+import utilities.Scheduler;
+import utilities.SimulationKernel;
 
 /**
  * Shortest Remaining Time (SRT) CPU Scheduling Algorithm
  * SRT is a preemptive scheduling algorithm where at each quantum, 
  * the process with the shortest remaining time is selected for execution
+ * 
+ * The ready queue is an indexed min-heap keyed on (remaining time, arrival time),
+ * so selecting, updating and removing the running process are O(log n).
+ *
+ * By default the scheduler knows the true runtimes (an oracle). With a BurstPredictor
+ * the remaining time is the burst predicted for the job's class when it arrived minus
+ * the quanta it ran; a job that runs longer than predicted has 0 left until it completes.
  */
-public class SRTScheduler {
+public class SRTScheduler implements Scheduler, BurstPrediction {
+    
+    // Don't start new processes after quantum 99
+    private static final int DEFAULT_HORIZON = 100;
     
     private List<Process> processes;
-    private StringBuilder timeline;
-    private int currentQuantum;
+    private ProcessTable table;
+    private IndexedMinHeap readyQueue;
+    private int horizon;
+    private BurstEstimator estimator;
     
     public SRTScheduler(List<Process> processes) {
+        this(ProcessTable.fromProcesses(processes));
+        this.processes.addAll(processes);
+    }
+    
+    public SRTScheduler(ProcessTable table) {
+        this(table, DEFAULT_HORIZON);
+    }
+    
+    /**
+     * @param horizon - quantum from which no new processes are admitted
+     */
+    public SRTScheduler(ProcessTable table, int horizon) {
         this.processes = new ArrayList<>();
-        // Create deep copies to avoid modifying original processes
-        for (Process p : processes) {
-            this.processes.add(p);
-        }
-        this.timeline = new StringBuilder();
-        this.currentQuantum = 0;
+        this.table = table;
+        this.readyQueue = new IndexedMinHeap(this::compare, table.size());
+        this.horizon = horizon;
+    }
+    
+    /**
+     * @param horizon - quantum from which no new processes are admitted
+     * @param predictor - predicts the bursts the remaining times are taken from
+     */
+    public SRTScheduler(ProcessTable table, int horizon, BurstPredictor predictor) {
+        this(table, horizon);
+        this.estimator = new BurstEstimator(table, predictor);
     }
     
     /**
@@ -28,95 +66,96 @@ public class SRTScheduler {
      * Returns the timeline string showing which process ran at each quantum
      */
     public String simulate() {
-        List<Process> readyQueue = new ArrayList<>();
-        int completedProcesses = 0;
-        int totalProcesses = processes.size();
-        
-        // Continue until all processes complete
-        while (completedProcesses < totalProcesses) {
-            // Add all processes that have arrived by current quantum to ready queue
-            // Don't add new processes after quantum 99
-            for (Process p : processes) {
-                if (p.getArrivalTime() <= currentQuantum && 
-                    !p.isCompleted() && 
-                    !readyQueue.contains(p)) {
-                    // Don't start new processes after quantum 99
-                    if (currentQuantum <= 99 || p.getResponseTime() != -1) {
-                        readyQueue.add(p);
-                    }
-                }
-            }
-            
-            // If ready queue is empty, CPU is idle
-            if (readyQueue.isEmpty()) {
-                // Check if there are any processes that haven't started yet
-                // If we're past quantum 99 and queue is empty, stop the simulation
-                if (currentQuantum > 99) {
-                    break;
-                }
-                
-                // Check if there are any more processes coming
-                boolean hasMoreProcesses = false;
-                for (Process p : processes) {
-                    if (!p.isCompleted() && p.getArrivalTime() > currentQuantum) {
-                        hasMoreProcesses = true;
-                        break;
-                    }
-                }
-                
-                if (!hasMoreProcesses) {
-                    break;
-                }
-                
-                timeline.append('-');
-                currentQuantum++;
-                continue;
-            }
-            
-            // Select process with shortest remaining time
-            Process selectedProcess = getProcessWithShortestRemainingTime(readyQueue);
-            
-            // If this is the first time the process is getting CPU, set response time
-            if (selectedProcess.getResponseTime() == -1) {
-                selectedProcess.setResponseTime(currentQuantum);
-            }
-            
-            // Execute process for one quantum
-            selectedProcess.setRemainingTime(selectedProcess.getRemainingTime() - 1);
-            
-            // Add process name to timeline
-            timeline.append(selectedProcess.getProcessName());
-            
-            // If process completed, set completion time and remove from ready queue
-            if (selectedProcess.isCompleted()) {
-                selectedProcess.setCompletionTime(currentQuantum + 1);
-                readyQueue.remove(selectedProcess);
-                completedProcesses++;
-            }
-            
-            // Move to next quantum
-            currentQuantum++;
+        String timeline = new SimulationKernel(table, this).run().render();
+        table.copyResultsTo(processes);
+        return timeline;
+    }
+    
+    @Override
+    public long horizon() {
+        return horizon;
+    }
+    
+    @Override
+    public void admit(int job, long now) {
+        if (estimator != null) {
+            estimator.admit(job);
         }
-        
-        return timeline.toString();
+        readyQueue.add(job);
     }
     
     /**
-     * Find process with shortest remaining time in ready queue
+     * The process with the shortest remaining time is at the top of the heap
      */
-    private Process getProcessWithShortestRemainingTime(List<Process> readyQueue) {
-        Process shortest = readyQueue.get(0);
-        for (Process p : readyQueue) {
-            if (p.getRemainingTime() < shortest.getRemainingTime()) {
-                shortest = p;
-            } else if (p.getRemainingTime() == shortest.getRemainingTime()) {
-                // If remaining times are equal, choose the one that arrived first (FCFS tie-breaking)
-                if (p.getArrivalTime() < shortest.getArrivalTime()) {
-                    shortest = p;
-                }
-            }
+    @Override
+    public int pickNext(long now) {
+        return readyQueue.peek();
+    }
+    
+    /**
+     * The selected process keeps the shortest remaining time until a new process arrives
+     */
+    @Override
+    public long sliceFor(int job, long now, long nextAdmission) {
+        return nextAdmission - now;
+    }
+    
+    /**
+     * Process stays in the ready queue with its reduced remaining time
+     */
+    @Override
+    public void onTick(int job, long now, long ran) {
+        readyQueue.decreaseKey(job);
+    }
+    
+    @Override
+    public void onComplete(int job, long now) {
+        readyQueue.remove(job);
+        if (estimator != null) {
+            estimator.complete(job);
+        }
+    }
+    
+    @Override
+    public int takeNext(long now) {
+        return readyQueue.poll();
+    }
+    
+    @Override
+    public void putBack(int job, long now, long ran) {
+        readyQueue.add(job);
+    }
+    
+    @Override
+    public boolean isPredictingBursts() {
+        return estimator != null;
+    }
+    
+    @Override
+    public double getMeanPredictionError() {
+        return estimator != null ? estimator.getMeanError() : 0.0;
+    }
+    
+    @Override
+    public double getMaxPredictionError() {
+        return estimator != null ? estimator.getMaxError() : 0.0;
+    }
+    
+    /**
+     * Order processes by remaining time, true or predicted
+     * If remaining times are equal, choose the one that arrived first (FCFS tie-breaking)
+     */
+    private int compare(int job1, int job2) {
+        int result = estimator == null
+                ? Integer.compare(table.getRemainingTime(job1), table.getRemainingTime(job2))
+                : Double.compare(estimator.getRemainingEstimate(job1), estimator.getRemainingEstimate(job2));
+        if (result == 0) {
+            result = Integer.compare(table.getArrivalTime(job1), table.getArrivalTime(job2));
+        }
+        if (result == 0) {
+            result = Integer.compare(job1, job2);
         }
-        return shortest;
+        return result;
     }
     
     /**
@@ -132,4 +171,3 @@ public class SRTScheduler {
         return ranProcesses;
     }
 }
-
@@ -11,19 +11,12 @@ cd "$(dirname "$0")/.." || exit
 
 # Clean previous builds
 echo "Cleaning previous builds..."
-rm -f "Vishwas (SRT)"/*.class
+rm -f SRT/*.class
 rm -f utilities/*.class
 
-# Compile utilities
-echo "Compiling utilities..."
-javac utilities/Process.java
-javac utilities/ProcessGenerator.java
-javac utilities/WorkloadGenerator.java
-
-# Compile SRT classes
+# Compile SRT classes and utilities
 echo "Compiling SRT scheduler..."
-javac -cp . "Vishwas (SRT)"/SRTScheduler.java
-javac -cp .:"Vishwas (SRT)" "Vishwas (SRT)"/SRTSimulation.java
+javac SRT/*.java utilities/*.java
 
 # Check if compilation was successful
 if [ $? -eq 0 ]; then
@@ -35,13 +28,13 @@ if [ $? -eq 0 ]; then
     echo ""
     
     # Run the simulation
-    java -cp .:"Vishwas (SRT)" SRTSimulation
+    java SRT.SRTSimulation
     
     # Save output to file
     echo ""
     echo "=========================================="
     echo "Saving output to SRT_output.txt..."
-    java -cp .:"Vishwas (SRT)" SRTSimulation > "Vishwas (SRT)"/SRT_output.txt
+    java SRT.SRTSimulation > SRT/SRT_output.txt
     echo "Output saved successfully!"
     echo "=========================================="
 else
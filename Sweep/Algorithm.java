@@ -0,0 +1,161 @@
+package Sweep;
+import EDF.EDFScheduler;
+import FCFS.FCFSScheduler;
+import HPF.HPFScheduler;
+import HPF.MLFQScheduler;
+import RR.CFSScheduler;
+import RR.LotteryScheduler;
+import RR.RRScheduler;
+import RR.StrideScheduler;
+import SJF_Scheduler.SJFScheduler;
+import SRT.SRTScheduler;
+import utilities.ExponentialAveragePredictor;
+import utilities.ProcessTable;
+import utilities.Scheduler;
+
+/**
+ * Scheduling algorithms that can be swept over
+ * Each algorithm creates its scheduler from the simulation parameters
+ * and tells which grid dimensions it actually uses.
+ *
+ * SJF_PREDICTED and SRT_PREDICTED learn the bursts of each priority class. Generated
+ * runtimes do not depend on the priority, so they are left out of sweeps and are meant
+ * for traces, whose queues make up the classes.
+ */
+public enum Algorithm {
+
+    FCFS(false) {
+        @Override
+        public Scheduler create(ProcessTable table, int horizon, int timeSlice, int priorityLevels) {
+            return new FCFSScheduler(table);
+        }
+    },
+
+    SJF(false) {
+        @Override
+        public Scheduler create(ProcessTable table, int horizon, int timeSlice, int priorityLevels) {
+            return new SJFScheduler(table);
+        }
+    },
+
+    SRT(false) {
+        @Override
+        public Scheduler create(ProcessTable table, int horizon, int timeSlice, int priorityLevels) {
+            return new SRTScheduler(table, horizon);
+        }
+    },
+
+    SJF_PREDICTED(false, true) {
+        @Override
+        public Scheduler create(ProcessTable table, int horizon, int timeSlice, int priorityLevels) {
+            return new SJFScheduler(table, new ExponentialAveragePredictor());
+        }
+    },
+
+    SRT_PREDICTED(false, true) {
+        @Override
+        public Scheduler create(ProcessTable table, int horizon, int timeSlice, int priorityLevels) {
+            return new SRTScheduler(table, horizon, new ExponentialAveragePredictor());
+        }
+    },
+
+    RR(true) {
+        @Override
+        public Scheduler create(ProcessTable table, int horizon, int timeSlice, int priorityLevels) {
+            return new RRScheduler(table, timeSlice, 0, horizon);
+        }
+    },
+
+    HPF_NON_PREEMPTIVE(false) {
+        @Override
+        public Scheduler create(ProcessTable table, int horizon, int timeSlice, int priorityLevels) {
+            return new HPFScheduler(table, false, priorityLevels, horizon);
+        }
+    },
+
+    HPF_PREEMPTIVE(false) {
+        @Override
+        public Scheduler create(ProcessTable table, int horizon, int timeSlice, int priorityLevels) {
+            return new HPFScheduler(table, true, priorityLevels, horizon);
+        }
+    },
+
+    MLFQ(true) {
+        @Override
+        public Scheduler create(ProcessTable table, int horizon, int timeSlice, int priorityLevels) {
+            return new MLFQScheduler(table, priorityLevels, timeSlice, MLFQScheduler.DEFAULT_BOOST_INTERVAL, horizon);
+        }
+    },
+
+    STRIDE(true) {
+        @Override
+        public Scheduler create(ProcessTable table, int horizon, int timeSlice, int priorityLevels) {
+            return new StrideScheduler(table, timeSlice, priorityLevels, horizon);
+        }
+    },
+
+    LOTTERY(true) {
+        @Override
+        public Scheduler create(ProcessTable table, int horizon, int timeSlice, int priorityLevels) {
+            return new LotteryScheduler(table, timeSlice, priorityLevels, horizon, LotteryScheduler.DEFAULT_SEED);
+        }
+    },
+
+    CFS(true) {
+        @Override
+        public Scheduler create(ProcessTable table, int horizon, int timeSlice, int priorityLevels) {
+            return new CFSScheduler(table, timeSlice, CFSScheduler.DEFAULT_TARGET_LATENCY, priorityLevels, horizon);
+        }
+    },
+
+    EDF(false) {
+        @Override
+        public Scheduler create(ProcessTable table, int horizon, int timeSlice, int priorityLevels) {
+            return new EDFScheduler(table, horizon);
+        }
+    };
+
+    private final boolean usesTimeSlice;
+    private final boolean predictsBursts;
+
+    Algorithm(boolean usesTimeSlice) {
+        this(usesTimeSlice, false);
+    }
+
+    Algorithm(boolean usesTimeSlice, boolean predictsBursts) {
+        this.usesTimeSlice = usesTimeSlice;
+        this.predictsBursts = predictsBursts;
+    }
+
+    /**
+     * Create the scheduler for a table of processes
+     *
+     * @param horizon - quantum from which no new processes are admitted (SRT, RR, HPF, MLFQ, stride, lottery, CFS and EDF)
+     * @param timeSlice - quanta a process may run before it is preempted (RR, stride, lottery, minimum granularity of CFS, highest level of MLFQ)
+     * @param priorityLevels - number of priority levels (HPF, queue levels of MLFQ, tickets of stride and lottery, weights of CFS)
+     */
+    public abstract Scheduler create(ProcessTable table, int horizon, int timeSlice, int priorityLevels);
+
+    /**
+     * Create the scheduler with the parameters of a sweep cell
+     */
+    public Scheduler create(ProcessTable table, SweepCell cell) {
+        return create(table, cell.getHorizon(), Math.max(1, cell.getTimeSlice()), cell.getPriorityLevels());
+    }
+
+    /**
+     * Check if the time slice changes the schedule, otherwise the grid
+     * gets one cell per workload instead of one per time slice
+     */
+    public boolean usesTimeSlice() {
+        return usesTimeSlice;
+    }
+
+    /**
+     * Check if the scheduler orders jobs by bursts predicted from their class
+     * instead of the true runtimes
+     */
+    public boolean predictsBursts() {
+        return predictsBursts;
+    }
+}
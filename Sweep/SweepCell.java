@@ -0,0 +1,37 @@
+package Sweep;
+
+/**
+ * One combination of the sweep grid: an algorithm run on a workload
+ */
+public class SweepCell {
+
+    private final Algorithm algorithm;
+    private final WorkloadSpec workload;
+    private final int timeSlice;   // 0 if the algorithm has no time slice
+
+    public SweepCell(Algorithm algorithm, WorkloadSpec workload, int timeSlice) {
+        this.algorithm = algorithm;
+        this.workload = workload;
+        this.timeSlice = timeSlice;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public WorkloadSpec getWorkload() {
+        return workload;
+    }
+
+    public int getTimeSlice() {
+        return timeSlice;
+    }
+
+    public int getHorizon() {
+        return workload.getHorizon();
+    }
+
+    public int getPriorityLevels() {
+        return workload.getPriorityLevels();
+    }
+}
@@ -0,0 +1,116 @@
+package Sweep;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import utilities.LatencyStatistics;
+import utilities.ParallelRunner;
+import utilities.ProcessTable;
+import utilities.RunStatistics;
+import utilities.SimulationKernel;
+import utilities.StatisticsCollector;
+import utilities.Workload;
+
+/**
+ * Runs every cell of a SweepGrid and writes one CSV row per cell
+ *
+ * Work is split by workload: each workload is generated once and every cell that
+ * uses it runs on the same process table, reset between runs. Workloads run in parallel on a ParallelRunner,
+ * in batches so only a bounded number of results is held in memory, and rows are
+ * written in grid order whatever order the workloads finish in.
+ */
+public class SweepEngine {
+
+    public static final String HEADER = "algorithm,seed,jobs,horizon,time_slice,priority_levels,"
+            + "processes_completed,avg_turnaround,avg_wait,avg_response,throughput,"
+            + "total_quanta,context_switches,"
+            + "wait_p50,wait_p95,wait_p99,wait_p999,response_p50,response_p95,response_p99,response_p999";
+
+    // Workloads per task for every core in a batch
+    private static final int WORKLOADS_PER_CORE = 16;
+
+    private ParallelRunner runner;
+
+    /**
+     * Engine using all available cores
+     */
+    public SweepEngine() {
+        this(new ParallelRunner());
+    }
+
+    public SweepEngine(ParallelRunner runner) {
+        this.runner = runner;
+    }
+
+    /**
+     * Run the grid and write the CSV header and rows
+     * Returns the number of rows written
+     */
+    public long run(SweepGrid grid, PrintStream out) {
+        out.println(HEADER);
+
+        List<WorkloadSpec> workloads = grid.workloads();
+        int batchSize = runner.getParallelism() * WORKLOADS_PER_CORE;
+        long rows = 0;
+        for (int first = 0; first < workloads.size(); first += batchSize) {
+            List<WorkloadSpec> batch = workloads.subList(first, Math.min(first + batchSize, workloads.size()));
+            List<List<String>> results = runner.map(batch.size(), i -> runWorkload(grid, batch.get(i)));
+            for (List<String> workloadRows : results) {
+                for (String row : workloadRows) {
+                    out.println(row);
+                    rows++;
+                }
+            }
+        }
+        out.flush();
+        return rows;
+    }
+
+    /**
+     * Generate a workload once and run all its cells on it
+     */
+    private List<String> runWorkload(SweepGrid grid, WorkloadSpec workload) {
+        ProcessTable table = new ProcessTable(Workload.fromProcesses(workload.generate()));
+        List<String> rows = new ArrayList<>();
+        for (SweepCell cell : grid.cells(workload)) {
+            table.reset();
+            rows.add(runCell(cell, table));
+        }
+        return rows;
+    }
+
+    private String runCell(SweepCell cell, ProcessTable table) {
+        SimulationKernel kernel = new SimulationKernel(table, cell.getAlgorithm().create(table, cell));
+        kernel.setRecordTimeline(false);
+        StatisticsCollector collector = new StatisticsCollector();
+        kernel.addCompletionListener(collector);
+        kernel.run();
+
+        RunStatistics s = collector.getStatistics();
+        WorkloadSpec workload = cell.getWorkload();
+        LatencyStatistics wait = s.getWaitTimes();
+        LatencyStatistics response = s.getResponseTimes();
+        return String.format(Locale.ROOT, "%s,%d,%d,%d,%s,%d,%d,%.4f,%.4f,%.4f,%.6f,%.0f,%d,%d,%d,%d,%d,%d,%d,%d,%d",
+                cell.getAlgorithm(),
+                workload.getSeed(),
+                workload.getJobs(),
+                workload.getHorizon(),
+                cell.getTimeSlice() > 0 ? Integer.toString(cell.getTimeSlice()) : "",
+                workload.getPriorityLevels(),
+                s.getProcessCount(),
+                s.getAvgTurnaroundTime(),
+                s.getAvgWaitTime(),
+                s.getAvgResponseTime(),
+                s.getThroughput(),
+                s.getLastCompletionTime(),
+                kernel.getContextSwitches(),
+                wait.getPercentile(50),
+                wait.getPercentile(95),
+                wait.getPercentile(99),
+                wait.getPercentile(99.9),
+                response.getPercentile(50),
+                response.getPercentile(95),
+                response.getPercentile(99),
+                response.getPercentile(99.9));
+    }
+}
@@ -0,0 +1,149 @@
+package Sweep;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Grid of parameters to sweep: algorithms x seeds x job counts x horizons x
+ * time slices x priority levels
+ *
+ * Seeds, job counts, horizons and priority levels determine the workload, so every
+ * distinct workload is generated once and all algorithms run on it. The time slice
+ * only multiplies the cells of algorithms that use one. Algorithms that predict bursts
+ * from the priority class are not swept: generated runtimes carry no class signal.
+ */
+public class SweepGrid {
+
+    private List<Algorithm> algorithms;
+    private long firstSeed;
+    private long lastSeed;
+    private int[] jobCounts;
+    private int[] horizons;
+    private int[] timeSlices;
+    private int[] priorityLevels;
+
+    /**
+     * Grid of a single cell per algorithm with the parameters of the original simulations
+     */
+    public SweepGrid() {
+        this.algorithms = new ArrayList<>();
+        for (Algorithm algorithm : Algorithm.values()) {
+            if (!algorithm.predictsBursts()) {
+                this.algorithms.add(algorithm);
+            }
+        }
+        this.firstSeed = 0;
+        this.lastSeed = 0;
+        this.jobCounts = new int[] {50};
+        this.horizons = new int[] {100};
+        this.timeSlices = new int[] {1};
+        this.priorityLevels = new int[] {4};
+    }
+
+    public void setAlgorithms(Algorithm... algorithms) {
+        if (algorithms.length == 0) {
+            throw new IllegalArgumentException("At least one algorithm is required");
+        }
+        for (Algorithm algorithm : algorithms) {
+            if (algorithm.predictsBursts()) {
+                throw new IllegalArgumentException(algorithm + " predicts bursts from the priority class,"
+                        + " which generated runtimes do not depend on; replay a trace instead");
+            }
+        }
+        this.algorithms = new ArrayList<>(new LinkedHashSet<>(Arrays.asList(algorithms)));
+    }
+
+    /**
+     * Run every workload with seeds firstSeed..lastSeed (inclusive)
+     */
+    public void setSeeds(long firstSeed, long lastSeed) {
+        if (lastSeed < firstSeed) {
+            throw new IllegalArgumentException("Empty seed range: " + firstSeed + ".." + lastSeed);
+        }
+        this.firstSeed = firstSeed;
+        this.lastSeed = lastSeed;
+    }
+
+    public void setJobCounts(int... jobCounts) {
+        this.jobCounts = distinct("Job count", 0, jobCounts);
+    }
+
+    public void setHorizons(int... horizons) {
+        this.horizons = distinct("Horizon", 1, horizons);
+    }
+
+    public void setTimeSlices(int... timeSlices) {
+        this.timeSlices = distinct("Time slice", 1, timeSlices);
+    }
+
+    public void setPriorityLevels(int... priorityLevels) {
+        this.priorityLevels = distinct("Priority levels", 1, priorityLevels);
+    }
+
+    /**
+     * Distinct workloads of the grid
+     */
+    public List<WorkloadSpec> workloads() {
+        List<WorkloadSpec> workloads = new ArrayList<>();
+        for (long seed = firstSeed; seed <= lastSeed; seed++) {
+            for (int jobs : jobCounts) {
+                for (int horizon : horizons) {
+                    for (int levels : priorityLevels) {
+                        workloads.add(new WorkloadSpec(seed, jobs, horizon, levels));
+                    }
+                }
+            }
+        }
+        return workloads;
+    }
+
+    /**
+     * Cells that run on a workload, in algorithm and time slice order
+     */
+    public List<SweepCell> cells(WorkloadSpec workload) {
+        List<SweepCell> cells = new ArrayList<>();
+        for (Algorithm algorithm : algorithms) {
+            if (algorithm.usesTimeSlice()) {
+                for (int timeSlice : timeSlices) {
+                    cells.add(new SweepCell(algorithm, workload, timeSlice));
+                }
+            } else {
+                cells.add(new SweepCell(algorithm, workload, 0));
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Total number of cells, i.e. result rows, of the grid
+     */
+    public long size() {
+        long cellsPerWorkload = 0;
+        for (Algorithm algorithm : algorithms) {
+            cellsPerWorkload += algorithm.usesTimeSlice() ? timeSlices.length : 1;
+        }
+        long seeds = lastSeed - firstSeed + 1;
+        return seeds * jobCounts.length * horizons.length * priorityLevels.length * cellsPerWorkload;
+    }
+
+    private static int[] distinct(String name, int minimum, int[] values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException(name + " needs at least one value");
+        }
+        Set<Integer> distinct = new LinkedHashSet<>();
+        for (int value : values) {
+            if (value < minimum) {
+                throw new IllegalArgumentException(name + " must be at least " + minimum + ": " + value);
+            }
+            distinct.add(value);
+        }
+        int[] result = new int[distinct.size()];
+        int i = 0;
+        for (int value : distinct) {
+            result[i++] = value;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package Sweep;
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import utilities.ParallelRunner;
+
+/**
+ * Main class to run a parameter sweep over the scheduling algorithms
+ * Writes one CSV row per cell of the grid
+ *
+ * Usage: java Sweep.SweepSimulation [--algorithms FCFS,SJF,SRT,RR,HPF_NON_PREEMPTIVE,HPF_PREEMPTIVE,MLFQ,STRIDE,LOTTERY,CFS,EDF]
+ *            [--seeds 0-99] [--jobs 50,100] [--horizons 100] [--slices 1,2,4] [--levels 4]
+ *            [--threads n] [--output SweepOutput.csv]
+ */
+public class SweepSimulation {
+
+    public static void main(String[] args) {
+        SweepGrid grid = new SweepGrid();
+        int threads = Runtime.getRuntime().availableProcessors();
+        String output = "SweepOutput.csv";
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--algorithms":
+                    String[] names = value.split(",");
+                    Algorithm[] algorithms = new Algorithm[names.length];
+                    for (int a = 0; a < names.length; a++) {
+                        algorithms[a] = Algorithm.valueOf(names[a].trim().toUpperCase());
+                    }
+                    grid.setAlgorithms(algorithms);
+                    break;
+                case "--seeds":
+                    int dash = value.indexOf('-', 1);
+                    long firstSeed = Long.parseLong(dash < 0 ? value : value.substring(0, dash));
+                    long lastSeed = dash < 0 ? firstSeed : Long.parseLong(value.substring(dash + 1));
+                    grid.setSeeds(firstSeed, lastSeed);
+                    break;
+                case "--jobs":
+                    grid.setJobCounts(parseList(value));
+                    break;
+                case "--horizons":
+                    grid.setHorizons(parseList(value));
+                    break;
+                case "--slices":
+                    grid.setTimeSlices(parseList(value));
+                    break;
+                case "--levels":
+                    grid.setPriorityLevels(parseList(value));
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "--output":
+                    output = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (args.length % 2 != 0) {
+            throw new IllegalArgumentException("Missing value for option: " + args[args.length - 1]);
+        }
+
+        System.out.println("Sweeping " + grid.size() + " cells on " + threads + " threads...");
+        long startTime = System.nanoTime();
+        try (PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(output), 1 << 16))) {
+            long rows = new SweepEngine(new ParallelRunner(threads)).run(grid, out);
+            long elapsed = (System.nanoTime() - startTime) / 1_000_000;
+            System.out.println("Wrote " + rows + " rows to " + output + " in " + elapsed + " ms");
+        }
+        catch(FileNotFoundException e) {
+            System.err.println("Error: Unable to create output file.");
+            e.printStackTrace();
+        }
+    }
+
+    private static int[] parseList(String value) {
+        String[] parts = value.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,52 @@
+package Sweep;
+import java.util.List;
+import utilities.Process;
+import utilities.ProcessGenerator;
+
+/**
+ * Parameters that determine a generated workload
+ * Cells of the grid with the same workload share one generated process list.
+ */
+public class WorkloadSpec {
+
+    private final long seed;
+    private final int jobs;
+    private final int horizon;
+    private final int priorityLevels;
+
+    /**
+     * @param seed - random seed of the generator
+     * @param jobs - number of processes
+     * @param horizon - processes arrive in quanta 0..horizon-1, the schedulers admit none after that
+     * @param priorityLevels - processes get priorities 1..priorityLevels
+     */
+    public WorkloadSpec(long seed, int jobs, int horizon, int priorityLevels) {
+        this.seed = seed;
+        this.jobs = jobs;
+        this.horizon = horizon;
+        this.priorityLevels = priorityLevels;
+    }
+
+    /**
+     * Generate the processes, sorted by arrival time
+     */
+    public List<Process> generate() {
+        return ProcessGenerator.generateProcesses(jobs, seed, horizon, priorityLevels);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getJobs() {
+        return jobs;
+    }
+
+    public int getHorizon() {
+        return horizon;
+    }
+
+    public int getPriorityLevels() {
+        return priorityLevels;
+    }
+}
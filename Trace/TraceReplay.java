@@ -0,0 +1,115 @@
+package Trace;
+import Sweep.Algorithm;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import utilities.CsvReport;
+import utilities.IterationResult;
+import utilities.MappedProcessTable;
+import utilities.ProcessTable;
+import utilities.ReportFormat;
+import utilities.ReportOptions;
+import utilities.RunStatistics;
+import utilities.SimulationKernel;
+import utilities.StatisticsCollector;
+import utilities.TableReport;
+import utilities.Timeline;
+import utilities.TraceArrivalStream;
+
+/**
+ * Main class to replay a job trace (SWF or CSV) through a scheduling algorithm
+ * The trace is streamed, only the jobs in the system at the same time are held in memory.
+ * If a table file is given, every job and its results are stored in it off the heap
+ * instead, and can be reopened with MappedProcessTable.open().
+ * The jsonl and binary formats hold the summary and, with a table file, every job of the trace.
+ * The csv format holds only jobs, so it needs a table file.
+ *
+ * Usage: java Trace.TraceReplay traceFile [algorithm] [secondsPerQuantum] [timeSlice] [priorityLevels] [tableFile]
+ *            [--format table|csv|jsonl|binary] [--output file]
+ */
+public class TraceReplay {
+
+    private static final String LINE = "----------------------------------------------------------------------------------------------------";
+    private static final String USAGE = "Usage: java Trace.TraceReplay traceFile [algorithm] [secondsPerQuantum] [timeSlice] [priorityLevels] [tableFile]"
+            + " [--format table|csv|jsonl|binary] [--output file]";
+
+    public static void main(String[] args) throws IOException {
+        ReportOptions options = ReportOptions.parse(args);
+        args = options.getArguments();
+        if (args.length < 1) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        Path path = Paths.get(args[0]);
+        Algorithm algorithm = args.length > 1 ? parseAlgorithm(args[1]) : Algorithm.FCFS;
+        double secondsPerQuantum = args.length > 2 ? Double.parseDouble(args[2]) : 1.0;
+        int timeSlice = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        int priorityLevels = args.length > 4 ? Integer.parseInt(args[4]) : 4;
+        Path tableFile = args.length > 5 ? Paths.get(args[5]) : null;
+        if (tableFile == null && options.getFormat() instanceof CsvReport) {
+            System.err.println("The csv format holds a row per job, give a table file to keep the jobs");
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+
+        long startTime = System.nanoTime();
+        // The mapped table is written and closed also when the replay fails
+        try (TraceArrivalStream trace = TraceArrivalStream.open(path, secondsPerQuantum, priorityLevels);
+             MappedProcessTable mapped = tableFile != null ? MappedProcessTable.create(tableFile) : null) {
+            ProcessTable table = mapped != null ? mapped : new ProcessTable();
+            SimulationKernel kernel = new SimulationKernel(table, trace,
+                    algorithm.create(table, Integer.MAX_VALUE, timeSlice, priorityLevels));
+            kernel.setRecordTimeline(false);
+            StatisticsCollector collector = new StatisticsCollector();
+            kernel.addCompletionListener(collector);
+            kernel.run();
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+
+            RunStatistics s = collector.getStatistics();
+            s.setContextSwitches(kernel.getContextSwitches(), kernel.getSwitchOverhead());
+
+            // Standard output unless --output is given
+            try (PrintStream out = options.openOutput(null)) {
+                if (options.isTable()) {
+                    out.println("Trace Replay: " + path + " - " + algorithm);
+                    out.println(LINE);
+                    out.printf("Jobs Replayed: %d (%d lines skipped)%n", trace.getJobsRead(), trace.getSkippedLines());
+                    TableReport.printRunSummary(out, s);
+                    if (tableFile != null) {
+                        out.printf("Jobs Stored: %d in %s%n", table.size(), tableFile);
+                    } else {
+                        out.printf("Peak Jobs in Memory: %d%n", table.size());
+                    }
+                    out.printf("Replayed %.1f MB in %.2f s (%.1f MB/s)%n", trace.getBytesRead() / 1e6, seconds,
+                            trace.getBytesRead() / 1e6 / seconds);
+                    out.println(LINE);
+                } else {
+                    // Without a table file the completed jobs are gone, only the summary is left
+                    String name = "Trace Replay " + path + " " + algorithm;
+                    int[] storedJobs = tableFile != null ? IntStream.range(0, table.size()).toArray() : new int[0];
+                    ReportFormat format = options.getFormat();
+                    format.writeHeader(out);
+                    format.writeIteration(out, new IterationResult(name, 1, table, storedJobs, new Timeline(), s, false));
+                    format.writeSummary(out, name, 1, s);
+                }
+            }
+        }
+    }
+
+    /**
+     * Algorithm of the given name, or the usage and the valid names if there is none
+     */
+    private static Algorithm parseAlgorithm(String name) {
+        try {
+            return Algorithm.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown algorithm " + name + ", use one of " + Arrays.toString(Algorithm.values()));
+            System.err.println(USAGE);
+            System.exit(1);
+            return null;
+        }
+    }
+}
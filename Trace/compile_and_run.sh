@@ -0,0 +1,10 @@
+#!/bin/bash
+
+# Move to the parent directory (so all scheduler packages and utilities are visible).
+cd "$(dirname "$0")/.." || exit
+
+# Compile all Java files
+javac FCFS/*.java SJF_Scheduler/*.java SRT/*.java RR/*.java HPF/*.java EDF/*.java Sweep/*.java Trace/*.java utilities/*.java
+
+# Run the TraceReplay class, passing on the trace file and options
+java Trace.TraceReplay "$@"
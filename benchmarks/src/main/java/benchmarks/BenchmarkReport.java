@@ -0,0 +1,60 @@
+package benchmarks;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs SchedulerBenchmark with the GC profiler and prints the cost per simulated event
+ *
+ * Usage: java -cp target/benchmarks.jar benchmarks.BenchmarkReport [JMH options, e.g. -p jobs=100,10000]
+ */
+public class BenchmarkReport {
+
+    private static final String LINE = "----------------------------------------------------------------------------";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(SchedulerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        List<String> rows = new ArrayList<>();
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            String algorithm = params.getParam("algorithm");
+            int jobs = Integer.parseInt(params.getParam("jobs"));
+            long events = SchedulerBenchmark.simulatedEvents(algorithm, jobs);
+
+            double nsPerRun = result.getPrimaryResult().getScore();
+            Result allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            double bytesPerRun = allocation != null ? allocation.getScore() : Double.NaN;
+
+            rows.add(String.format("%-16s | %10d | %12d | %12.2f | %12.2f",
+                    algorithm, jobs, events, nsPerRun / events, bytesPerRun / events));
+        }
+
+        System.out.println();
+        System.out.println("Scheduler Cost per Simulated Event (arrival, completion or context switch):");
+        System.out.println(LINE);
+        System.out.println("Algorithm        |       Jobs |       Events |     ns/event |  bytes/event");
+        System.out.println(LINE);
+        for (String row : rows) {
+            System.out.println(row);
+        }
+        System.out.println(LINE);
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+import java.util.Arrays;
+import java.util.Random;
+import utilities.Workload;
+
+/**
+ * Random workload of the same shape as ProcessGenerator's, generated straight into
+ * primitive arrays so workloads of 10^7 jobs fit in memory without a Process object per job.
+ * Arrivals are spread so the CPU is busy about 90% of the time whatever the size.
+ */
+public class BenchmarkWorkload {
+
+    // Average runtime is 5.5 quanta, one arrival every 6 quanta
+    private static final int QUANTA_PER_JOB = 6;
+    private static final int PRIORITY_LEVELS = 4;
+
+    private final Workload workload;
+    private final int arrivalWindow;
+
+    public BenchmarkWorkload(int jobs, long seed) {
+        this.arrivalWindow = Math.multiplyExact(jobs, QUANTA_PER_JOB);
+        Random rand = new Random(seed);
+        int[] arrivals = new int[jobs];
+        int[] runtimes = new int[jobs];
+        int[] priorities = new int[jobs];
+        for (int i = 0; i < jobs; i++) {
+            arrivals[i] = rand.nextInt(arrivalWindow);
+            runtimes[i] = rand.nextInt(10) + 1;
+            priorities[i] = rand.nextInt(PRIORITY_LEVELS) + 1;
+        }
+
+        // Stable sort by arrival time: the generation index breaks ties
+        long[] order = new long[jobs];
+        for (int i = 0; i < jobs; i++) {
+            order[i] = ((long) arrivals[i] << 32) | i;
+        }
+        Arrays.sort(order);
+
+        int[] arrivalTime = new int[jobs];
+        int[] runtime = new int[jobs];
+        int[] priority = new int[jobs];
+        for (int job = 0; job < jobs; job++) {
+            int i = (int) order[job];
+            arrivalTime[job] = arrivals[i];
+            runtime[job] = runtimes[i];
+            priority[job] = priorities[i];
+        }
+        this.workload = new Workload(arrivalTime, runtime, priority);
+    }
+
+    /**
+     * Immutable jobs of the workload, every run gets its own ProcessTable of it
+     */
+    public Workload getWorkload() {
+        return workload;
+    }
+
+    public int size() {
+        return workload.size();
+    }
+
+    /**
+     * Quanta 0..arrivalWindow-1 in which jobs arrive, used as the scheduler horizon
+     * so every job is admitted
+     */
+    public int getArrivalWindow() {
+        return arrivalWindow;
+    }
+
+    public int getPriorityLevels() {
+        return PRIORITY_LEVELS;
+    }
+}
@@ -0,0 +1,90 @@
+package benchmarks;
+import Sweep.Algorithm;
+import Sweep.SweepCell;
+import Sweep.WorkloadSpec;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utilities.ProcessTable;
+import utilities.SimulationKernel;
+
+/**
+ * Cost of a whole simulation run per scheduler and workload size
+ *
+ * One operation resets the process table, creates the scheduler and runs the
+ * SimulationKernel until every job completed. The Gantt timeline is not recorded,
+ * so the score is the cost of the scheduling engine alone.
+ * BenchmarkReport divides the scores by the number of simulated events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SchedulerBenchmark {
+
+    private static final long SEED = 12345;
+
+    @Param({"FCFS", "SJF", "SRT", "RR", "HPF_PREEMPTIVE"})
+    public String algorithm;
+
+    @Param({"100", "1000", "10000", "100000", "1000000", "10000000"})
+    public int jobs;
+
+    private BenchmarkWorkload workload;
+    private SweepCell cell;
+    private ProcessTable table;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = new BenchmarkWorkload(jobs, SEED);
+        cell = createCell(Algorithm.valueOf(algorithm), workload);
+        table = new ProcessTable(workload.getWorkload());
+    }
+
+    @Benchmark
+    public long simulate() {
+        table.reset();
+        return run(cell, table).getCurrentQuantum();
+    }
+
+    /**
+     * Number of simulated events of a run: every arrival, completion and context switch
+     */
+    public static long simulatedEvents(String algorithm, int jobs) {
+        BenchmarkWorkload workload = new BenchmarkWorkload(jobs, SEED);
+        ProcessTable table = new ProcessTable(workload.getWorkload());
+        SimulationKernel kernel = run(createCell(Algorithm.valueOf(algorithm), workload), table);
+        long completions = 0;
+        for (int job = 0; job < table.size(); job++) {
+            if (table.isCompleted(job)) {
+                completions++;
+            }
+        }
+        return workload.size() + completions + kernel.getContextSwitches();
+    }
+
+    private static SweepCell createCell(Algorithm algorithm, BenchmarkWorkload workload) {
+        WorkloadSpec spec = new WorkloadSpec(SEED, workload.size(), workload.getArrivalWindow(),
+                workload.getPriorityLevels());
+        return new SweepCell(algorithm, spec, 1);
+    }
+
+    private static SimulationKernel run(SweepCell cell, ProcessTable table) {
+        SimulationKernel kernel = new SimulationKernel(table, cell.getAlgorithm().create(table, cell));
+        kernel.setRecordTimeline(false);
+        kernel.run();
+        return kernel;
+    }
+}
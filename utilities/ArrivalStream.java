@@ -0,0 +1,25 @@
+package utilities;
+
+/**
+ * Source of jobs in order of arrival time, consumed lazily by the SimulationKernel.
+ * A job is only loaded into the process table when the kernel admits it,
+ * so a stream can be far larger than memory or have no end at all.
+ */
+public interface ArrivalStream {
+
+    /**
+     * Check if another job will arrive
+     */
+    boolean hasNext();
+
+    /**
+     * Arrival time of the next job
+     */
+    int peekArrivalTime();
+
+    /**
+     * Load the next job into the table
+     * Returns the id of the job in the table
+     */
+    int next(ProcessTable table);
+}
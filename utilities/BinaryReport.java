@@ -0,0 +1,89 @@
+package utilities;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Compact binary report, big-endian like Timeline.writeTo()
+ *
+ * The output starts with the magic "RPT1" followed by records, each starting with its type:
+ * - ITERATION: algorithm name (modified UTF-8), iteration, number of jobs, then for every job
+ *   that ran its pid, arrival, start, completion, runtime and priority as ints,
+ *   then the timeline as written by Timeline.writeTo()
+ * - SUMMARY: algorithm name, iterations, then the average turnaround, wait and response
+ *   time, throughput and context switches as doubles
+ */
+public class BinaryReport implements ReportFormat {
+
+    public static final int MAGIC = 0x52505431; // "RPT1"
+    public static final byte ITERATION = 1;
+    public static final byte SUMMARY = 2;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private boolean headerWritten;
+
+    public BinaryReport() {
+        this.headerWritten = false;
+    }
+
+    @Override
+    public void writeHeader(PrintStream out) {
+        if (!headerWritten) {
+            write(out, data -> data.writeInt(MAGIC));
+            headerWritten = true;
+        }
+    }
+
+    @Override
+    public void writeIteration(PrintStream out, IterationResult result) {
+        write(out, data -> {
+            ProcessTable table = result.getTable();
+            int[] ranJobs = result.getRanJobs();
+            data.writeByte(ITERATION);
+            data.writeUTF(result.getAlgorithmName());
+            data.writeInt(result.getIteration());
+            data.writeInt(ranJobs.length);
+            for (int job : ranJobs) {
+                data.writeInt(table.getPid(job));
+                data.writeInt(table.getArrivalTime(job));
+                data.writeInt(table.getStartTime(job));
+                data.writeInt(table.getCompletionTime(job));
+                data.writeInt(table.getRuntime(job));
+                data.writeInt(table.getPriority(job));
+            }
+            result.getTimeline().writeTo(data);
+        });
+    }
+
+    @Override
+    public void writeSummary(PrintStream out, String algorithmName, int iterations, RunStatistics overall) {
+        write(out, data -> {
+            data.writeByte(SUMMARY);
+            data.writeUTF(algorithmName);
+            data.writeInt(iterations);
+            data.writeDouble(overall.getAvgTurnaroundTime());
+            data.writeDouble(overall.getAvgWaitTime());
+            data.writeDouble(overall.getAvgResponseTime());
+            data.writeDouble(overall.getThroughput());
+            data.writeDouble(overall.getContextSwitches());
+        });
+    }
+
+    private interface Record {
+        void writeTo(DataOutputStream data) throws IOException;
+    }
+
+    private static void write(PrintStream out, Record record) {
+        try {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+            record.writeTo(data);
+            data.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package utilities;
+
+import java.util.Arrays;
+
+/**
+ * Predicted bursts of the jobs of one scheduler
+ * A job is estimated once, when it is admitted, from the history of its class (its priority),
+ * so its key in the ready queue does not change while it waits. When the job completes,
+ * its runtime is passed to the predictor and the prediction error is recorded.
+ */
+public class BurstEstimator {
+
+    private ProcessTable table;
+    private BurstPredictor predictor;
+    private double[] estimate;
+
+    private int completedJobs;
+    private double errorSum;
+    private double maxError;
+
+    public BurstEstimator(ProcessTable table, BurstPredictor predictor) {
+        this.table = table;
+        this.predictor = predictor;
+        this.estimate = new double[Math.max(16, table.size())];
+        Arrays.fill(estimate, Double.NaN);
+    }
+
+    /**
+     * Estimate the burst of an arriving job
+     */
+    public void admit(int job) {
+        if (job >= estimate.length) {
+            int length = estimate.length;
+            estimate = Arrays.copyOf(estimate, Math.max(job + 1, length * 2));
+            Arrays.fill(estimate, length, estimate.length, Double.NaN);
+        }
+        estimate[job] = predictor.predict(table.getPriority(job));
+    }
+
+    /**
+     * Predicted burst of a job, in quanta
+     * A job that was admitted by another scheduler (taken from the queue of another CPU)
+     * is estimated when it is first seen here.
+     */
+    public double getEstimate(int job) {
+        if (job >= estimate.length || Double.isNaN(estimate[job])) {
+            admit(job);
+        }
+        return estimate[job];
+    }
+
+    /**
+     * Predicted burst minus the quanta the job already ran, 0 once it ran longer than predicted
+     */
+    public double getRemainingEstimate(int job) {
+        int ran = table.getRuntime(job) - table.getRemainingTime(job);
+        return Math.max(0.0, getEstimate(job) - ran);
+    }
+
+    /**
+     * The job's burst is known now: teach the predictor and record the error
+     */
+    public void complete(int job) {
+        int burst = table.getRuntime(job);
+        double error = Math.abs(getEstimate(job) - burst);
+        predictor.observe(table.getPriority(job), burst);
+        estimate[job] = Double.NaN;
+        completedJobs++;
+        errorSum += error;
+        maxError = Math.max(maxError, error);
+    }
+
+    public double getMeanError() {
+        return completedJobs > 0 ? errorSum / completedJobs : 0.0;
+    }
+
+    public double getMaxError() {
+        return maxError;
+    }
+}
@@ -0,0 +1,25 @@
+package utilities;
+
+/**
+ * Scheduling policy that orders jobs by predicted instead of true bursts.
+ * The prediction error of a job is the difference between the burst predicted when
+ * it arrived and its runtime, in quanta; the SimulationDriver reports it next to
+ * the other statistics.
+ */
+public interface BurstPrediction {
+
+    /**
+     * Check if the policy predicts bursts, false if it knows the true runtimes
+     */
+    boolean isPredictingBursts();
+
+    /**
+     * Mean of the absolute prediction errors of the completed jobs
+     */
+    double getMeanPredictionError();
+
+    /**
+     * Largest absolute prediction error of a completed job
+     */
+    double getMaxPredictionError();
+}
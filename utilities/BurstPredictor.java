@@ -0,0 +1,20 @@
+package utilities;
+
+/**
+ * Estimate of the next CPU burst of a job class from the bursts of its completed jobs.
+ * Schedulers that order by burst length (SJF, SRT) can use an estimate instead of the
+ * true runtime, which a real system does not know before a job runs.
+ * A predictor holds the history of one run; every scheduler needs its own.
+ */
+public interface BurstPredictor {
+
+    /**
+     * Predicted burst of the next job of the class, in quanta
+     */
+    double predict(int jobClass);
+
+    /**
+     * Learn the burst of a completed job of the class
+     */
+    void observe(int jobClass, int burst);
+}
@@ -0,0 +1,11 @@
+package utilities;
+
+/**
+ * Notified by the SimulationKernel each time a job completes.
+ * The job's row in the table is valid until the listener returns; when the
+ * kernel runs from an ArrivalStream the id is recycled for a later job.
+ */
+public interface CompletionListener {
+
+    void processCompleted(ProcessTable table, int job);
+}
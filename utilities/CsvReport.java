@@ -0,0 +1,70 @@
+package utilities;
+
+import java.io.PrintStream;
+
+/**
+ * CSV report with one row per process that ran, for loading into analysis tools
+ * Averages and percentiles follow from the rows, so no summary rows are written.
+ */
+public class CsvReport implements ReportFormat {
+
+    public static final String HEADER = "algorithm,iteration,pid,arrival,start,completion,runtime,"
+            + "response,wait,turnaround,priority";
+
+    private static final int ROWS_PER_WRITE = 4096;
+
+    private boolean headerWritten;
+
+    public CsvReport() {
+        this.headerWritten = false;
+    }
+
+    @Override
+    public void writeHeader(PrintStream out) {
+        if (!headerWritten) {
+            out.println(HEADER);
+            headerWritten = true;
+        }
+    }
+
+    @Override
+    public void writeIteration(PrintStream out, IterationResult result) {
+        ProcessTable table = result.getTable();
+        String prefix = quote(result.getAlgorithmName()) + "," + result.getIteration() + ",";
+        StringBuilder rows = new StringBuilder();
+        int rowCount = 0;
+        for (int job : result.getRanJobs()) {
+            rows.append(prefix)
+                    .append(table.getPid(job)).append(',')
+                    .append(table.getArrivalTime(job)).append(',')
+                    .append(table.getStartTime(job)).append(',')
+                    .append(table.getCompletionTime(job)).append(',')
+                    .append(table.getRuntime(job)).append(',')
+                    .append(table.getResponseTimeValue(job)).append(',')
+                    .append(table.getWaitTime(job)).append(',')
+                    .append(table.getTurnaroundTime(job)).append(',')
+                    .append(table.getPriority(job)).append('\n');
+            if (++rowCount == ROWS_PER_WRITE) {
+                out.print(rows);
+                rows.setLength(0);
+                rowCount = 0;
+            }
+        }
+        out.print(rows);
+    }
+
+    @Override
+    public void writeSummary(PrintStream out, String algorithmName, int iterations, RunStatistics overall) {
+        // Nothing to add to the rows
+    }
+
+    /**
+     * Quote a field that holds a separator or a quote
+     */
+    private static String quote(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0) {
+            return field;
+        }
+        return "\"" + field.replace("\"", "\"\"") + "\"";
+    }
+}
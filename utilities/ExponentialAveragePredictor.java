@@ -0,0 +1,54 @@
+package utilities;
+
+import java.util.Arrays;
+
+/**
+ * Exponential average of the bursts of every job class:
+ * estimate(n + 1) = alpha * burst(n) + (1 - alpha) * estimate(n)
+ * With alpha 1 the estimate is the last burst, with alpha 0 it stays at the initial guess;
+ * in between older bursts weigh less and less.
+ */
+public class ExponentialAveragePredictor implements BurstPredictor {
+
+    public static final double DEFAULT_ALPHA = 0.5;
+    public static final double DEFAULT_INITIAL_GUESS = 5.0;
+
+    private double alpha;
+    private double initialGuess;
+    private double[] estimate;
+
+    public ExponentialAveragePredictor() {
+        this(DEFAULT_ALPHA, DEFAULT_INITIAL_GUESS);
+    }
+
+    /**
+     * @param alpha - weight of the last burst, 0..1
+     * @param initialGuess - estimate of a class before its first burst
+     */
+    public ExponentialAveragePredictor(double alpha, double initialGuess) {
+        if (!(alpha >= 0.0 && alpha <= 1.0)) {
+            throw new IllegalArgumentException("Alpha must be between 0 and 1: " + alpha);
+        }
+        if (!(initialGuess >= 0.0)) {
+            throw new IllegalArgumentException("Initial guess must not be negative: " + initialGuess);
+        }
+        this.alpha = alpha;
+        this.initialGuess = initialGuess;
+        this.estimate = new double[0];
+    }
+
+    @Override
+    public double predict(int jobClass) {
+        return jobClass < estimate.length ? estimate[jobClass] : initialGuess;
+    }
+
+    @Override
+    public void observe(int jobClass, int burst) {
+        if (jobClass >= estimate.length) {
+            int length = estimate.length;
+            estimate = Arrays.copyOf(estimate, jobClass + 1);
+            Arrays.fill(estimate, length, estimate.length, initialGuess);
+        }
+        estimate[jobClass] = alpha * burst + (1 - alpha) * estimate[jobClass];
+    }
+}
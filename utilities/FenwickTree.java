@@ -0,0 +1,92 @@
+package utilities;
+
+import java.util.Arrays;
+
+/**
+ * Fenwick tree (binary indexed tree) of non-negative weights, one per job id.
+ * Changing a weight and finding the job a point of the cumulative weight falls on
+ * both take O(log n), so a weighted random draw does not walk the whole ready queue.
+ * The tree grows on demand when a weight is set for a job beyond its capacity.
+ */
+public class FenwickTree {
+
+    private long[] weight;    // weight of each job
+    private long[] tree;      // tree[i] = sum of the weights of jobs i - lowbit(i) .. i - 1
+    private long total;
+
+    public FenwickTree() {
+        this(16);
+    }
+
+    public FenwickTree(int capacity) {
+        capacity = Math.max(1, capacity);
+        this.weight = new long[capacity];
+        this.tree = new long[capacity + 1];
+        this.total = 0;
+    }
+
+    /**
+     * Sum of all weights
+     */
+    public long total() {
+        return total;
+    }
+
+    public long get(int job) {
+        return job < weight.length ? weight[job] : 0;
+    }
+
+    /**
+     * Set the weight of a job, 0 takes it out of the draws
+     */
+    public void set(int job, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Weight must not be negative: " + value);
+        }
+        if (job >= weight.length) {
+            grow(Math.max(job + 1, weight.length * 2));
+        }
+        long delta = value - weight[job];
+        weight[job] = value;
+        total += delta;
+        for (int i = job + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Job whose share of the cumulative weight holds the point, i.e. the first job
+     * whose weights up to and including its own add up to more than point
+     *
+     * @param point - 0 <= point < total()
+     */
+    public int find(long point) {
+        if (point < 0 || point >= total) {
+            throw new IllegalArgumentException("Point " + point + " is outside 0.." + (total - 1));
+        }
+        int position = 0;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] <= point) {
+                position = next;
+                point -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Rebuild the tree for a larger capacity in O(n)
+     */
+    private void grow(int capacity) {
+        weight = Arrays.copyOf(weight, capacity);
+        tree = new long[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            tree[i] += weight[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package utilities;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of job ids that remembers where every job sits in the heap.
+ * Knowing the position makes contains O(1) and lets a job be removed or have its
+ * key changed in place in O(log n), instead of searching the whole ready queue.
+ * The ordering is supplied by the scheduler and is read from its process table.
+ */
+public class IndexedMinHeap {
+
+    /**
+     * Ordering of two jobs, negative if the first job should come out first
+     */
+    public interface Order {
+        int compare(int job1, int job2);
+    }
+
+    private Order order;
+    private int[] heap;       // job ids in heap order
+    private int[] position;   // position of each job in heap, -1 if not queued
+    private int size;
+
+    public IndexedMinHeap(Order order) {
+        this(order, 16);
+    }
+
+    public IndexedMinHeap(Order order, int capacity) {
+        capacity = Math.max(1, capacity);
+        this.order = order;
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        Arrays.fill(this.position, -1);
+        this.size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int job) {
+        return job < position.length && position[job] != -1;
+    }
+
+    /**
+     * Add a job that is not queued yet
+     */
+    public void add(int job) {
+        if (contains(job)) {
+            throw new IllegalArgumentException("Job " + job + " is already queued");
+        }
+        if (job >= position.length) {
+            int capacity = Math.max(job + 1, position.length * 2);
+            int oldLength = position.length;
+            position = Arrays.copyOf(position, capacity);
+            Arrays.fill(position, oldLength, capacity, -1);
+        }
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        heap[size] = job;
+        position[job] = size;
+        size++;
+        siftUp(size - 1);
+    }
+
+    /**
+     * Job that comes out first, -1 if the heap is empty
+     */
+    public int peek() {
+        return size == 0 ? -1 : heap[0];
+    }
+
+    /**
+     * Remove and return the job that comes out first, -1 if the heap is empty
+     */
+    public int poll() {
+        if (size == 0) {
+            return -1;
+        }
+        int job = heap[0];
+        removeAt(0);
+        return job;
+    }
+
+    /**
+     * Remove a queued job
+     */
+    public void remove(int job) {
+        if (contains(job)) {
+            removeAt(position[job]);
+        }
+    }
+
+    /**
+     * Restore the heap order after the key of a queued job got smaller
+     */
+    public void decreaseKey(int job) {
+        siftUp(position[job]);
+    }
+
+    /**
+     * Restore the heap order after the key of a queued job changed in either direction
+     */
+    public void update(int job) {
+        int i = position[job];
+        siftUp(i);
+        siftDown(position[job]);
+    }
+
+    private void removeAt(int i) {
+        int job = heap[i];
+        size--;
+        position[job] = -1;
+        if (i == size) {
+            return;
+        }
+        int last = heap[size];
+        heap[i] = last;
+        position[last] = i;
+        siftUp(i);
+        siftDown(position[last]);
+    }
+
+    private void siftUp(int i) {
+        int job = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (order.compare(job, heap[parent]) >= 0) {
+                break;
+            }
+            heap[i] = heap[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = job;
+        position[job] = i;
+    }
+
+    private void siftDown(int i) {
+        int job = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && order.compare(heap[right], heap[child]) < 0) {
+                child = right;
+            }
+            if (order.compare(job, heap[child]) <= 0) {
+                break;
+            }
+            heap[i] = heap[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = job;
+        position[job] = i;
+    }
+}
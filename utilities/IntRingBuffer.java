@@ -0,0 +1,82 @@
+package utilities;
+
+/**
+ * Growable circular buffer of job ids.
+ * Adding and removing at either end is O(1) and never shifts elements,
+ * unlike removing the first element of an ArrayList.
+ */
+public class IntRingBuffer {
+
+    private int[] elements;   // capacity is always a power of two
+    private int head;
+    private int size;
+
+    public IntRingBuffer() {
+        this(16);
+    }
+
+    public IntRingBuffer(int capacity) {
+        this.elements = new int[Integer.highestOneBit(Math.max(2, capacity - 1)) << 1];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void addLast(int job) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = job;
+        size++;
+    }
+
+    public void addFirst(int job) {
+        if (size == elements.length) {
+            grow();
+        }
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = job;
+        size++;
+    }
+
+    /**
+     * First job in the buffer, -1 if the buffer is empty
+     */
+    public int peekFirst() {
+        return size == 0 ? -1 : elements[head];
+    }
+
+    /**
+     * Remove and return the first job, -1 if the buffer is empty
+     */
+    public int pollFirst() {
+        if (size == 0) {
+            return -1;
+        }
+        int job = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return job;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        int[] grown = new int[elements.length << 1];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, grown, 0, firstPart);
+        System.arraycopy(elements, 0, grown, firstPart, size - firstPart);
+        elements = grown;
+        head = 0;
+    }
+}
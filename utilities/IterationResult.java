@@ -0,0 +1,85 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything a report needs about one iteration of a simulation
+ */
+public class IterationResult {
+
+    private String algorithmName;
+    private int iteration;
+    private ProcessTable table;
+    private int[] ranJobs;
+    private Timeline timeline;
+    private RunStatistics statistics;
+    private boolean reportPriorityLevels;
+
+    /**
+     * @param ranJobs - jobs that got the CPU at least once, in id order
+     */
+    public IterationResult(String algorithmName, int iteration, ProcessTable table, int[] ranJobs,
+                           Timeline timeline, RunStatistics statistics, boolean reportPriorityLevels) {
+        this.algorithmName = algorithmName;
+        this.iteration = iteration;
+        this.table = table;
+        this.ranJobs = ranJobs;
+        this.timeline = timeline;
+        this.statistics = statistics;
+        this.reportPriorityLevels = reportPriorityLevels;
+    }
+
+    public String getAlgorithmName() {
+        return algorithmName;
+    }
+
+    public int getIteration() {
+        return iteration;
+    }
+
+    public ProcessTable getTable() {
+        return table;
+    }
+
+    public int[] getRanJobs() {
+        return ranJobs;
+    }
+
+    public Timeline getTimeline() {
+        return timeline;
+    }
+
+    public RunStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Check if statistics per priority level were asked for
+     */
+    public boolean isReportPriorityLevels() {
+        return reportPriorityLevels;
+    }
+
+    /**
+     * Statistics of the jobs that ran, by priority level 1..highest priority seen
+     */
+    public List<RunStatistics> getStatisticsByPriority() {
+        int levels = 0;
+        for (int job : ranJobs) {
+            levels = Math.max(levels, table.getPriority(job));
+        }
+        List<StatisticsCollector> collectors = new ArrayList<>();
+        for (int i = 0; i < levels; i++) {
+            collectors.add(new StatisticsCollector());
+        }
+        for (int job : ranJobs) {
+            collectors.get(table.getPriority(job) - 1).processCompleted(table, job);
+        }
+        List<RunStatistics> byPriority = new ArrayList<>();
+        for (StatisticsCollector collector : collectors) {
+            byPriority.add(collector.getStatistics());
+        }
+        return byPriority;
+    }
+}
@@ -0,0 +1,120 @@
+package utilities;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * JSON Lines report: one object per line, with a "type" of process, priority_level,
+ * iteration or summary. Every object names its algorithm, so reports of several
+ * algorithms can share a file.
+ */
+public class JsonLinesReport implements ReportFormat {
+
+    private static final int ROWS_PER_WRITE = 4096;
+
+    @Override
+    public void writeIteration(PrintStream out, IterationResult result) {
+        ProcessTable table = result.getTable();
+        String prefix = "{\"type\":\"process\",\"algorithm\":" + quote(result.getAlgorithmName())
+                + ",\"iteration\":" + result.getIteration();
+        StringBuilder rows = new StringBuilder();
+        int rowCount = 0;
+        for (int job : result.getRanJobs()) {
+            rows.append(prefix)
+                    .append(",\"pid\":").append(table.getPid(job))
+                    .append(",\"arrival\":").append(table.getArrivalTime(job))
+                    .append(",\"start\":").append(table.getStartTime(job))
+                    .append(",\"completion\":").append(table.getCompletionTime(job))
+                    .append(",\"runtime\":").append(table.getRuntime(job))
+                    .append(",\"response\":").append(table.getResponseTimeValue(job))
+                    .append(",\"wait\":").append(table.getWaitTime(job))
+                    .append(",\"turnaround\":").append(table.getTurnaroundTime(job))
+                    .append(",\"priority\":").append(table.getPriority(job))
+                    .append("}\n");
+            if (++rowCount == ROWS_PER_WRITE) {
+                out.print(rows);
+                rows.setLength(0);
+                rowCount = 0;
+            }
+        }
+        out.print(rows);
+
+        RunStatistics statistics = result.getStatistics();
+        if (result.isReportPriorityLevels()) {
+            List<RunStatistics> byPriority = result.getStatisticsByPriority();
+            for (int priority = 1; priority <= byPriority.size(); priority++) {
+                RunStatistics s = byPriority.get(priority - 1);
+                // Throughput of a level is over the whole run
+                double lastCompletionTime = statistics.getLastCompletionTime();
+                double throughput = lastCompletionTime > 0 ? s.getProcessCount() / lastCompletionTime : 0.0;
+                out.println(String.format(Locale.ROOT, "{\"type\":\"priority_level\",\"algorithm\":%s,\"iteration\":%d,"
+                                + "\"priority\":%d,\"processes\":%d,\"avg_turnaround\":%.4f,\"avg_wait\":%.4f,"
+                                + "\"max_wait\":%d,\"avg_response\":%.4f,\"throughput\":%.6f}",
+                        quote(result.getAlgorithmName()), result.getIteration(), priority, s.getProcessCount(),
+                        s.getAvgTurnaroundTime(), s.getAvgWaitTime(), s.getWaitTimes().getMax(),
+                        s.getAvgResponseTime(), throughput));
+            }
+        }
+        out.println("{\"type\":\"iteration\",\"algorithm\":" + quote(result.getAlgorithmName())
+                + ",\"iteration\":" + result.getIteration() + statistics(statistics) + "}");
+    }
+
+    @Override
+    public void writeSummary(PrintStream out, String algorithmName, int iterations, RunStatistics overall) {
+        out.println("{\"type\":\"summary\",\"algorithm\":" + quote(algorithmName)
+                + ",\"iterations\":" + iterations + statistics(overall) + "}");
+    }
+
+    private static String statistics(RunStatistics s) {
+        LatencyStatistics wait = s.getWaitTimes();
+        LatencyStatistics response = s.getResponseTimes();
+        String fields = String.format(Locale.ROOT, ",\"processes\":%d,\"total_quanta\":%.1f,\"avg_turnaround\":%.4f,"
+                        + "\"avg_wait\":%.4f,\"avg_response\":%.4f,\"throughput\":%.6f,"
+                        + "\"context_switches\":%.1f,\"switch_overhead\":%.1f,"
+                        + "\"wait_p50\":%d,\"wait_p95\":%d,\"wait_p99\":%d,\"wait_p999\":%d,"
+                        + "\"response_p50\":%d,\"response_p95\":%d,\"response_p99\":%d,\"response_p999\":%d",
+                s.getProcessCount(), s.getLastCompletionTime(), s.getAvgTurnaroundTime(),
+                s.getAvgWaitTime(), s.getAvgResponseTime(), s.getThroughput(),
+                s.getContextSwitches(), s.getSwitchOverhead(),
+                wait.getPercentile(50), wait.getPercentile(95), wait.getPercentile(99), wait.getPercentile(99.9),
+                response.getPercentile(50), response.getPercentile(95), response.getPercentile(99),
+                response.getPercentile(99.9));
+        if (s.hasDeadlines()) {
+            LatencyStatistics lateness = s.getLateness();
+            fields += String.format(Locale.ROOT, ",\"deadline_jobs\":%.1f,\"deadline_misses\":%.1f,\"miss_ratio\":%.6f,"
+                            + "\"lateness_p50\":%d,\"lateness_p95\":%d,\"lateness_p99\":%d,\"lateness_p999\":%d",
+                    s.getDeadlineJobs(), s.getDeadlineMisses(), s.getDeadlineMissRatio(),
+                    lateness.getPercentile(50), lateness.getPercentile(95), lateness.getPercentile(99),
+                    lateness.getPercentile(99.9));
+        }
+        if (s.isShareErrorRecorded()) {
+            fields += String.format(Locale.ROOT, ",\"share_error_mean\":%.4f,\"share_error_max\":%.4f",
+                    s.getMeanShareError(), s.getMaxShareError());
+        }
+        if (s.isPredictionErrorRecorded()) {
+            fields += String.format(Locale.ROOT, ",\"prediction_error_mean\":%.4f,\"prediction_error_max\":%.4f",
+                    s.getMeanPredictionError(), s.getMaxPredictionError());
+        }
+        return fields;
+    }
+
+    /**
+     * JSON string literal of the text
+     */
+    private static String quote(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,99 @@
+package utilities;
+
+/**
+ * Fixed-memory histogram of latencies in quanta, in the style of HdrHistogram.
+ * Values below 128 get a bucket of their own; every power-of-two range above that is
+ * split in 64 buckets, so a percentile is off by less than 1/64 of its value.
+ * The whole int range fits in 1664 counters whatever the number of recorded values.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;      // 128 exact values
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;      // 64 buckets per power of two
+    private static final int BUCKETS = SUB_BUCKET_COUNT + (31 - SUB_BUCKET_BITS) * SUB_BUCKET_HALF;
+
+    private long[] counts;
+    private long totalCount;
+    private int maxValue;
+
+    public LatencyHistogram() {
+        this.counts = new long[BUCKETS];
+        this.totalCount = 0;
+        this.maxValue = 0;
+    }
+
+    /**
+     * Count one value
+     *
+     * @param value - latency in quanta, must not be negative
+     */
+    public void record(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Latency must not be negative: " + value);
+        }
+        counts[indexOf(value)]++;
+        totalCount++;
+        maxValue = Math.max(maxValue, value);
+    }
+
+    /**
+     * Add all values counted by another histogram
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Value below or at which the given percentage of the recorded values lie,
+     * 0 if nothing was recorded
+     *
+     * @param percentile - percentage between 0 and 100, e.g. 99.9
+     */
+    public int getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    private static int indexOf(int value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return value;
+        }
+        int exponent = 31 - Integer.numberOfLeadingZeros(value);
+        int shift = exponent - (SUB_BUCKET_BITS - 1);
+        int subBucket = (value >>> shift) - SUB_BUCKET_HALF;
+        return SUB_BUCKET_COUNT + (exponent - SUB_BUCKET_BITS) * SUB_BUCKET_HALF + subBucket;
+    }
+
+    /**
+     * Largest value counted in a bucket
+     */
+    private static int highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + SUB_BUCKET_BITS;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        int shift = exponent - (SUB_BUCKET_BITS - 1);
+        long highest = ((long) subBucket << shift) + (1L << shift) - 1;
+        return (int) Math.min(highest, Integer.MAX_VALUE);
+    }
+}
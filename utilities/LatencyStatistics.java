@@ -0,0 +1,96 @@
+package utilities;
+
+/**
+ * Streaming statistics of one latency metric (turnaround, wait or response time).
+ * Mean and variance are updated with Welford's algorithm and percentiles come from
+ * a LatencyHistogram, so memory stays fixed however many processes complete.
+ */
+public class LatencyStatistics {
+
+    private long count;
+    private double sum;
+    private double mean;   // running mean of Welford's algorithm
+    private double m2;     // sum of squared differences from the running mean
+    private int min;
+    private int max;
+    private LatencyHistogram histogram;
+
+    public LatencyStatistics() {
+        this.count = 0;
+        this.sum = 0.0;
+        this.mean = 0.0;
+        this.m2 = 0.0;
+        this.min = Integer.MAX_VALUE;
+        this.max = 0;
+        this.histogram = new LatencyHistogram();
+    }
+
+    /**
+     * Record the latency of one process
+     */
+    public void record(int value) {
+        count++;
+        sum += value;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        histogram.record(value);
+    }
+
+    /**
+     * Add the latencies recorded by another instance (Chan's parallel variance update)
+     */
+    public void add(LatencyStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * count * other.count / total;
+        count = total;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        histogram.add(other.histogram);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Mean from the exact sum of the integer latencies
+     */
+    public double getMean() {
+        return count > 0 ? sum / count : 0.0;
+    }
+
+    /**
+     * Population variance, every process of the run is recorded
+     */
+    public double getVariance() {
+        return count > 0 ? m2 / count : 0.0;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    public int getMin() {
+        return count > 0 ? min : 0;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * @param percentile - percentage between 0 and 100, e.g. 99.9
+     */
+    public int getPercentile(double percentile) {
+        return histogram.getValueAtPercentile(percentile);
+    }
+}
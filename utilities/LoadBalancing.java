@@ -0,0 +1,31 @@
+package utilities;
+
+/**
+ * How the MultiCoreKernel spreads jobs over its CPUs
+ */
+public enum LoadBalancing {
+
+    /**
+     * One ready queue shared by all CPUs, a free CPU takes the next job of the policy
+     */
+    GLOBAL_QUEUE,
+
+    /**
+     * A ready queue per CPU; arrivals go to the least loaded CPU and every balance
+     * interval waiting jobs move from the most to the least loaded CPU
+     */
+    PERIODIC,
+
+    /**
+     * A ready queue per CPU; arrivals go to the least loaded CPU and a CPU that runs
+     * out of work steals the next waiting job of the most loaded CPU
+     */
+    WORK_STEALING,
+
+    /**
+     * A ready queue per CPU; the CPUs only interact every balance interval, when waiting
+     * jobs are balanced and the jobs arriving during the interval are placed on the least
+     * loaded CPUs. In between each CPU runs on its own, so the CPUs can be simulated in parallel.
+     */
+    PARTITIONED
+}
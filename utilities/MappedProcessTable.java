@@ -0,0 +1,367 @@
+package utilities;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Process table stored off the heap in a memory-mapped file, for workloads too large
+ * for the heap. It is a ProcessTable, so the schedulers and the kernel read and update
+ * the jobs in place, and the operating system pages them in and out of memory.
+ *
+ * The file has a fixed binary layout, little-endian:
+ * - header of 16 bytes: magic "PTB1", version, record size, number of jobs
+ * - one record of 9 ints per job: pid, arrival time, runtime, remaining time,
+ *   priority, start time, completion time (-1 if not yet set), relative deadline
+ *   and period (0 if none)
+ * The number of jobs in the header is updated with every add, so a table can be closed
+ * and reopened with open() without parsing, results included.
+ *
+ * The file is mapped in chunks of 2^20 jobs, since a single mapping is limited to 2 GB.
+ * A shared Workload cannot be mapped; copy it with add() instead.
+ * Job ids are never recycled: release() keeps the job, so a streamed run stores every
+ * job it saw. Only the jobs are off the heap, and some schedulers keep per-job state on
+ * the heap in arrays indexed by job id, which grow with the number of jobs in the table,
+ * not with the number of jobs in the system:
+ * - about 4 bytes per job for the indexed heaps of SRT and EDF
+ * - 13 bytes for HPF and 16 bytes for MLFQ
+ * - about 40 bytes for stride, lottery and CFS
+ * - 8 bytes for predicted SJF and SRT
+ * - 4 bytes for the multi-CPU kernel
+ * At 10^9 jobs HPF alone needs about 13 GB of heap. FCFS, RR and SJF on true runtimes
+ * hold only the jobs in the system, so they replay traces of any length.
+ */
+public class MappedProcessTable extends ProcessTable implements Closeable {
+
+    private static final int MAGIC = 0x31425450;   // "PTB1"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 16;
+    private static final int COUNT_OFFSET = 12;
+
+    // Field offsets within a record
+    private static final int PID = 0;
+    private static final int ARRIVAL_TIME = 4;
+    private static final int RUNTIME = 8;
+    private static final int REMAINING_TIME = 12;
+    private static final int PRIORITY = 16;
+    private static final int START_TIME = 20;
+    private static final int COMPLETION_TIME = 24;
+    private static final int DEADLINE = 28;
+    private static final int PERIOD = 32;
+    private static final int RECORD_SIZE = 36;
+
+    private static final int CHUNK_SHIFT = 20;
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+    private static final long CHUNK_BYTES = (long) RECORD_SIZE << CHUNK_SHIFT;
+
+    private FileChannel channel;
+    private MappedByteBuffer header;
+    private MappedByteBuffer[] chunks;
+    private int chunkCount;
+    private int size;
+
+    private MappedProcessTable(FileChannel channel, int size) throws IOException {
+        super(0);
+        this.channel = channel;
+        this.header = map(channel, 0, HEADER_SIZE);
+        this.chunks = new MappedByteBuffer[4];
+        this.chunkCount = 0;
+        this.size = size;
+        while ((long) chunkCount << CHUNK_SHIFT < size) {
+            mapChunk();
+        }
+    }
+
+    /**
+     * Create an empty table in the file, replacing what it held
+     */
+    public static MappedProcessTable create(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            MappedProcessTable table = new MappedProcessTable(channel, 0);
+            table.header.putInt(0, MAGIC);
+            table.header.putInt(4, VERSION);
+            table.header.putInt(8, RECORD_SIZE);
+            table.header.putInt(COUNT_OFFSET, 0);
+            return table;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reopen a table written by create(), with the jobs and results it held
+     */
+    public static MappedProcessTable open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Not a process table: " + path);
+            }
+            MappedByteBuffer header = map(channel, 0, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getInt(8) != RECORD_SIZE) {
+                throw new IOException("Not a process table of version " + VERSION + ": " + path);
+            }
+            int size = header.getInt(COUNT_OFFSET);
+            if (size < 0 || HEADER_SIZE + (long) size * RECORD_SIZE > channel.size()) {
+                throw new IOException("Truncated process table: " + path);
+            }
+            return new MappedProcessTable(channel, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Copy the processes into a new table in the file, in list order
+     */
+    public static MappedProcessTable fromProcesses(Path path, List<Process> processes) throws IOException {
+        MappedProcessTable table = create(path);
+        for (Process p : processes) {
+            int job = table.add((int) Math.ceil(p.getArrivalTime()), (int) Math.ceil(p.getRuntime()), p.getPriority());
+            if (p.getDeadline() > 0 || p.getPeriod() > 0) {
+                table.setDeadline(job, p.getDeadline(), p.getPeriod());
+            }
+        }
+        return table;
+    }
+
+    @Override
+    public int add(int arrival, int runtime, int priority) {
+        if (size > 0 && arrival < getArrivalTime(size - 1)) {
+            throw new IllegalArgumentException("Jobs must be added in order of arrival time");
+        }
+        return append(size, arrival, runtime, priority);
+    }
+
+    @Override
+    public int allocate(int pid, int arrival, int runtime, int priority) {
+        return append(pid, arrival, runtime, priority);
+    }
+
+    @Override
+    public void release(int job) {
+        // The job stays in the file
+    }
+
+    @Override
+    public void reset() {
+        for (int job = 0; job < size; job++) {
+            setInt(job, REMAINING_TIME, getInt(job, RUNTIME));
+            setInt(job, START_TIME, -1);
+            setInt(job, COMPLETION_TIME, -1);
+        }
+    }
+
+    @Override
+    public ArrivalStream arrivals() {
+        return new ArrivalStream() {
+            private int nextJob = 0;
+
+            @Override
+            public boolean hasNext() {
+                return nextJob < size;
+            }
+
+            @Override
+            public int peekArrivalTime() {
+                return getArrivalTime(nextJob);
+            }
+
+            @Override
+            public int next(ProcessTable table) {
+                return nextJob++;
+            }
+        };
+    }
+
+    @Override
+    public void copyResultsTo(List<Process> processes) {
+        for (int job = 0; job < size; job++) {
+            Process p = processes.get(job);
+            p.setResponseTime(getStartTime(job));
+            p.setCompletionTime(getCompletionTime(job));
+            p.setRemainingTime(getRemainingTime(job));
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int getPid(int job) {
+        return getInt(job, PID);
+    }
+
+    @Override
+    public int getArrivalTime(int job) {
+        return getInt(job, ARRIVAL_TIME);
+    }
+
+    @Override
+    public int getRuntime(int job) {
+        return getInt(job, RUNTIME);
+    }
+
+    @Override
+    public int getPriority(int job) {
+        return getInt(job, PRIORITY);
+    }
+
+    @Override
+    public int getRemainingTime(int job) {
+        return getInt(job, REMAINING_TIME);
+    }
+
+    @Override
+    public int getRelativeDeadline(int job) {
+        return getInt(job, DEADLINE);
+    }
+
+    @Override
+    public int getPeriod(int job) {
+        return getInt(job, PERIOD);
+    }
+
+    @Override
+    public int getStartTime(int job) {
+        return getInt(job, START_TIME);
+    }
+
+    @Override
+    public int getCompletionTime(int job) {
+        return getInt(job, COMPLETION_TIME);
+    }
+
+    @Override
+    public void setRemainingTime(int job, int remaining) {
+        setInt(job, REMAINING_TIME, remaining);
+    }
+
+    @Override
+    public void setStartTime(int job, int start) {
+        setInt(job, START_TIME, start);
+    }
+
+    @Override
+    public void setCompletionTime(int job, int completion) {
+        setInt(job, COMPLETION_TIME, completion);
+    }
+
+    @Override
+    public void setDeadline(int job, int relativeDeadline, int period) {
+        if (relativeDeadline < 0 || period < 0) {
+            throw new IllegalArgumentException("Deadline and period must not be negative: "
+                    + relativeDeadline + ", " + period);
+        }
+        setInt(job, DEADLINE, relativeDeadline);
+        setInt(job, PERIOD, period);
+    }
+
+    @Override
+    public boolean hasStarted(int job) {
+        return getStartTime(job) != -1;
+    }
+
+    @Override
+    public boolean isCompleted(int job) {
+        return getRemainingTime(job) <= 0;
+    }
+
+    @Override
+    public int getTurnaroundTime(int job) {
+        return getCompletionTime(job) - getArrivalTime(job);
+    }
+
+    @Override
+    public int getResponseTimeValue(int job) {
+        return getStartTime(job) - getArrivalTime(job);
+    }
+
+    @Override
+    public int getWaitTime(int job) {
+        return getTurnaroundTime(job) - getRuntime(job);
+    }
+
+    /**
+     * Write the changed pages of the table to the file
+     */
+    public void force() {
+        header.force();
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            chunks[chunk].force();
+        }
+    }
+
+    /**
+     * Write the table to the file and close it
+     * The mappings are released once the table is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private int append(int pid, int arrival, int runtime, int priority) {
+        int job = size;
+        if (job == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Process table is full");
+        }
+        if (job >>> CHUNK_SHIFT == chunkCount) {
+            try {
+                mapChunk();
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot grow process table", e);
+            }
+        }
+        setInt(job, PID, pid);
+        setInt(job, ARRIVAL_TIME, arrival);
+        setInt(job, RUNTIME, runtime);
+        setInt(job, REMAINING_TIME, runtime);
+        setInt(job, PRIORITY, priority);
+        setInt(job, START_TIME, -1);
+        setInt(job, COMPLETION_TIME, -1);
+        setInt(job, DEADLINE, 0);
+        setInt(job, PERIOD, 0);
+        size++;
+        header.putInt(COUNT_OFFSET, size);
+        return job;
+    }
+
+    private int getInt(int job, int field) {
+        return chunks[job >>> CHUNK_SHIFT].getInt((job & CHUNK_MASK) * RECORD_SIZE + field);
+    }
+
+    private void setInt(int job, int field, int value) {
+        chunks[job >>> CHUNK_SHIFT].putInt((job & CHUNK_MASK) * RECORD_SIZE + field, value);
+    }
+
+    /**
+     * Map the next chunk of records, growing the file if needed
+     */
+    private void mapChunk() throws IOException {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        chunks[chunkCount] = map(channel, HEADER_SIZE + chunkCount * CHUNK_BYTES, CHUNK_BYTES);
+        chunkCount++;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, length);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+}
@@ -0,0 +1,45 @@
+package utilities;
+
+import java.util.Arrays;
+
+/**
+ * Mean of all bursts of every job class so far
+ * Every burst weighs the same, so the estimate settles on the class average
+ * but is slow to follow a class whose bursts change.
+ */
+public class MeanBurstPredictor implements BurstPredictor {
+
+    private double initialGuess;
+    private long[] total;
+    private int[] count;
+
+    /**
+     * @param initialGuess - estimate of a class before its first burst
+     */
+    public MeanBurstPredictor(double initialGuess) {
+        if (!(initialGuess >= 0.0)) {
+            throw new IllegalArgumentException("Initial guess must not be negative: " + initialGuess);
+        }
+        this.initialGuess = initialGuess;
+        this.total = new long[0];
+        this.count = new int[0];
+    }
+
+    @Override
+    public double predict(int jobClass) {
+        if (jobClass >= count.length || count[jobClass] == 0) {
+            return initialGuess;
+        }
+        return (double) total[jobClass] / count[jobClass];
+    }
+
+    @Override
+    public void observe(int jobClass, int burst) {
+        if (jobClass >= count.length) {
+            total = Arrays.copyOf(total, jobClass + 1);
+            count = Arrays.copyOf(count, jobClass + 1);
+        }
+        total[jobClass] += burst;
+        count[jobClass]++;
+    }
+}
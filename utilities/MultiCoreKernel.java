@@ -0,0 +1,891 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Discrete-event simulation of several CPUs sharing one workload.
+ * Every CPU runs its jobs the way the SimulationKernel does, with a scheduler of the
+ * policy for its ready queue (or one scheduler for all CPUs with a GLOBAL_QUEUE), and the
+ * clock jumps from one event of any CPU to the next: a run or context switch ending, an
+ * arrival or a balancing tick. Events at the same quantum are handled in CPU order, so
+ * runs are deterministic, and a single CPU gives the same schedule as the SimulationKernel.
+ *
+ * Jobs are taken out of the ready queue while they run (Scheduler.takeNext()), so several
+ * CPUs never pick the same job, and a waiting job can move to another CPU. A job that runs
+ * on a different CPU than the last time it ran counts as a migration of the new CPU.
+ *
+ * With PARTITIONED balancing the CPUs only interact at the start of every balance interval,
+ * so each CPU is simulated on its own up to the next one: the interval is the lookahead of a
+ * conservative parallel simulation. setThreads() spreads the CPUs over worker threads that
+ * meet at a barrier after every interval, where the waiting jobs are balanced, the next
+ * arrivals placed and the completions reported in the order of a sequential run. The
+ * results are the same whatever the number of threads.
+ */
+public class MultiCoreKernel {
+
+    public static final int DEFAULT_BALANCE_INTERVAL = 10;
+
+    private ProcessTable table;
+    private ArrivalStream arrivals;
+    private boolean releaseCompleted;
+    private List<CompletionListener> completionListeners;
+    private LoadBalancing balancing;
+    private int balanceInterval;
+    private int threads;
+    private int cores;
+    private Cpu[] cpus;
+    private long horizon;
+    private int contextSwitchCost;
+    private boolean idlesUntilHorizon;
+    private int lastArrivalTime;
+    private boolean recordTimeline;
+
+    private int[] lastCore;           // CPU each job last ran on, -1 before it first runs
+    private IndexedMinHeap busyCores; // ordered by end of the run or switch, then CPU
+    private BitSet free;
+    private BitSet pending;           // CPUs to dispatch at the current quantum
+    private long queued;              // jobs waiting in the per-CPU queues
+    private long rebalanced;          // jobs moved between queues by balancing or stealing
+    private long endQuantum;
+
+    // Interval the CPUs are simulated on their own with PARTITIONED balancing
+    private long intervalStart;
+    private long intervalEnd;
+    private boolean moreArrivals;     // jobs left to place after the interval
+    private boolean finished;
+    private IndexedMinHeap completions; // CPUs ordered by their next completion to report
+
+    /**
+     * @param table - processes sorted by arrival time
+     * @param schedulerFactory - creates the policy of a ready queue for the table
+     * @param cores - number of CPUs
+     */
+    public MultiCoreKernel(ProcessTable table, Function<ProcessTable, Scheduler> schedulerFactory, int cores,
+                           LoadBalancing balancing) {
+        this(table, table.arrivals(), schedulerFactory, cores, balancing, false);
+    }
+
+    /**
+     * @param table - initially empty table the streamed jobs are loaded into
+     * @param arrivals - jobs in order of arrival time
+     */
+    public MultiCoreKernel(ProcessTable table, ArrivalStream arrivals, Function<ProcessTable, Scheduler> schedulerFactory,
+                           int cores, LoadBalancing balancing) {
+        this(table, arrivals, schedulerFactory, cores, balancing, true);
+    }
+
+    private MultiCoreKernel(ProcessTable table, ArrivalStream arrivals, Function<ProcessTable, Scheduler> schedulerFactory,
+                            int cores, LoadBalancing balancing, boolean releaseCompleted) {
+        if (cores < 1) {
+            throw new IllegalArgumentException("At least one CPU is required: " + cores);
+        }
+        this.table = table;
+        this.arrivals = arrivals;
+        this.releaseCompleted = releaseCompleted;
+        this.completionListeners = new ArrayList<>();
+        this.balancing = balancing;
+        this.balanceInterval = DEFAULT_BALANCE_INTERVAL;
+        this.threads = 1;
+        this.cores = cores;
+        this.cpus = new Cpu[cores];
+        for (int core = 0; core < cores; core++) {
+            Scheduler scheduler = balancing == LoadBalancing.GLOBAL_QUEUE && core > 0
+                    ? cpus[0].scheduler : schedulerFactory.apply(table);
+            cpus[core] = new Cpu(core, scheduler);
+        }
+        this.horizon = cpus[0].scheduler.horizon();
+        this.contextSwitchCost = cpus[0].scheduler.contextSwitchCost();
+        this.idlesUntilHorizon = cpus[0].scheduler.idlesUntilHorizon();
+        this.lastArrivalTime = Integer.MIN_VALUE;
+        this.recordTimeline = true;
+
+        this.lastCore = new int[Math.max(16, table.size())];
+        this.busyCores = new IndexedMinHeap(this::compareBusyCores, cores);
+        this.free = new BitSet(cores);
+        this.free.set(0, cores);
+        this.pending = new BitSet(cores);
+        this.queued = 0;
+        this.rebalanced = 0;
+        this.endQuantum = 0;
+    }
+
+    /**
+     * Notify the listener about every job that completes
+     * With PARTITIONED balancing the jobs of an interval are reported at its end,
+     * from one thread at a time.
+     */
+    public void addCompletionListener(CompletionListener listener) {
+        completionListeners.add(listener);
+    }
+
+    /**
+     * Turn recording of the timelines off for runs whose Gantt charts are not needed
+     */
+    public void setRecordTimeline(boolean recordTimeline) {
+        this.recordTimeline = recordTimeline;
+    }
+
+    /**
+     * Quanta between two balancing rounds of PERIODIC and PARTITIONED balancing
+     */
+    public void setBalanceInterval(int balanceInterval) {
+        if (balanceInterval < 1) {
+            throw new IllegalArgumentException("Balance interval must be at least 1 quantum: " + balanceInterval);
+        }
+        this.balanceInterval = balanceInterval;
+    }
+
+    /**
+     * Number of threads that simulate the CPUs between two balancing rounds of PARTITIONED
+     * balancing, at most one per CPU. The other strategies run on the calling thread.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Run the simulation until no more work can be scheduled
+     */
+    public void run() {
+        if (balancing == LoadBalancing.PARTITIONED) {
+            runPartitioned();
+        } else {
+            runEvents();
+        }
+
+        // Like the SimulationKernel, the clock runs on to the horizon if jobs were left out
+        long timelineEnd = endQuantum;
+        if ((idlesUntilHorizon || arrivals.hasNext()) && horizon != Long.MAX_VALUE) {
+            timelineEnd = Math.max(endQuantum, horizon);
+        }
+        for (Cpu cpu : cpus) {
+            cpu.fillIdle(timelineEnd);
+        }
+    }
+
+    public int getCores() {
+        return cores;
+    }
+
+    public ProcessTable getTable() {
+        return table;
+    }
+
+    /**
+     * Timeline of a CPU, empty if recording is turned off
+     */
+    public Timeline getTimeline(int core) {
+        return cpus[core].timeline;
+    }
+
+    /**
+     * Quantum at which the last CPU finished its work
+     */
+    public long getEndQuantum() {
+        return endQuantum;
+    }
+
+    /**
+     * Quanta the CPU ran jobs
+     */
+    public long getBusyQuanta(int core) {
+        return cpus[core].busyQuanta;
+    }
+
+    /**
+     * Fraction of the run the CPU spent running jobs
+     */
+    public double getUtilization(int core) {
+        return endQuantum > 0 ? (double) cpus[core].busyQuanta / endQuantum : 0.0;
+    }
+
+    public long getContextSwitches(int core) {
+        return cpus[core].contextSwitches;
+    }
+
+    public long getSwitchOverhead(int core) {
+        return cpus[core].switchOverhead;
+    }
+
+    /**
+     * Number of times a job ran on the CPU after running on another one
+     */
+    public long getMigrations(int core) {
+        return cpus[core].migrations;
+    }
+
+    public long getCompletedJobs(int core) {
+        return cpus[core].completedJobs;
+    }
+
+    public long getContextSwitches() {
+        long total = 0;
+        for (Cpu cpu : cpus) {
+            total += cpu.contextSwitches;
+        }
+        return total;
+    }
+
+    public long getSwitchOverhead() {
+        long total = 0;
+        for (Cpu cpu : cpus) {
+            total += cpu.switchOverhead;
+        }
+        return total;
+    }
+
+    public long getMigrations() {
+        long total = 0;
+        for (Cpu cpu : cpus) {
+            total += cpu.migrations;
+        }
+        return total;
+    }
+
+    /**
+     * Number of waiting jobs moved to another CPU's queue by balancing or stealing
+     */
+    public long getRebalanced() {
+        return rebalanced;
+    }
+
+    /**
+     * One event loop for all CPUs, for the strategies whose CPUs interact at any event
+     */
+    private void runEvents() {
+        long now = 0;
+        while (true) {
+            // Runs and context switches ending now, in CPU order
+            while (!busyCores.isEmpty() && cpus[busyCores.peek()].busyUntil == now) {
+                Cpu cpu = cpus[busyCores.poll()];
+                if (cpu.switching) {
+                    cpu.switching = false;
+                    pending.set(cpu.index);
+                } else {
+                    finishRun(cpu, now);
+                }
+            }
+
+            // Jobs that arrive now queue up behind the jobs that were preempted now
+            admitArrivals(now);
+
+            if (balancing == LoadBalancing.PERIODIC && now % balanceInterval == 0) {
+                balance(now);
+            }
+
+            dispatch(now);
+
+            long next = busyCores.isEmpty() ? Long.MAX_VALUE : cpus[busyCores.peek()].busyUntil;
+            next = Math.min(next, nextAdmission(now));
+            if (balancing == LoadBalancing.PERIODIC && queued > 0) {
+                next = Math.min(next, (now / balanceInterval + 1) * balanceInterval);
+            }
+            if (next == Long.MAX_VALUE) {
+                break;
+            }
+            now = next;
+        }
+        endQuantum = now;
+    }
+
+    /**
+     * Start runs on the CPUs that finished a context switch or are free and may find work,
+     * in CPU order
+     */
+    private void dispatch(long now) {
+        for (int core = pending.nextSetBit(0); core >= 0; core = pending.nextSetBit(core + 1)) {
+            Cpu cpu = cpus[core];
+            if (cpu.running < 0) {
+                int job = take(cpu, now);
+                if (job < 0) {
+                    cpu.lastJob = -1;
+                    continue;
+                }
+                free.clear(core);
+                if (cpu.switchTo(job, now)) {
+                    busyCores.add(core);
+                    continue;
+                }
+            }
+            cpu.startRun(now, nextAdmission(now));
+            busyCores.add(core);
+        }
+        pending.clear();
+    }
+
+    private void finishRun(Cpu cpu, long now) {
+        int job = cpu.running;
+        free.set(cpu.index);
+        pending.set(cpu.index);
+
+        if (cpu.finishRun(now)) {
+            if (balancing != LoadBalancing.GLOBAL_QUEUE) {
+                cpu.load--;
+            }
+            completed(job);
+        } else if (balancing == LoadBalancing.GLOBAL_QUEUE) {
+            pending.or(free);
+        } else {
+            queued++;
+        }
+    }
+
+    private void completed(int job) {
+        for (CompletionListener listener : completionListeners) {
+            listener.processCompleted(table, job);
+        }
+        if (releaseCompleted) {
+            table.release(job);
+        }
+    }
+
+    /**
+     * Take the next job of the CPU's queue, or steal one if the queue is empty
+     */
+    private int take(Cpu cpu, long now) {
+        int job = cpu.scheduler.takeNext(now);
+        if (balancing == LoadBalancing.GLOBAL_QUEUE) {
+            return job;
+        }
+        if (job >= 0) {
+            queued--;
+            return job;
+        }
+
+        // The queue is empty, policies may have dropped jobs that can no longer run
+        queued -= cpu.load;
+        cpu.load = 0;
+        if (balancing == LoadBalancing.WORK_STEALING) {
+            job = steal(cpu, now);
+        }
+        return job;
+    }
+
+    /**
+     * Take the next waiting job of the CPU with the most waiting jobs
+     */
+    private int steal(Cpu thief, long now) {
+        while (true) {
+            Cpu victim = null;
+            int mostWaiting = 0;
+            for (Cpu cpu : cpus) {
+                int waiting = cpu.waiting();
+                if (cpu != thief && waiting > mostWaiting) {
+                    victim = cpu;
+                    mostWaiting = waiting;
+                }
+            }
+            if (victim == null) {
+                return -1;
+            }
+            int job = moveFrom(victim, now);
+            if (job >= 0) {
+                thief.load++;
+                return job;
+            }
+        }
+    }
+
+    /**
+     * Move waiting jobs from the most to the least loaded CPU until loads differ by at most one
+     */
+    private void balance(long now) {
+        while (queued > 0) {
+            Cpu busiest = null;
+            Cpu idlest = cpus[0];
+            for (Cpu cpu : cpus) {
+                if (cpu.waiting() > 0 && (busiest == null || cpu.load > busiest.load)) {
+                    busiest = cpu;
+                }
+                if (cpu.load < idlest.load) {
+                    idlest = cpu;
+                }
+            }
+            if (busiest == null || busiest.load - idlest.load < 2) {
+                return;
+            }
+            int job = moveFrom(busiest, now);
+            if (job >= 0) {
+                idlest.scheduler.admit(job, now);
+                idlest.load++;
+                queued++;
+                if (idlest.running < 0) {
+                    pending.set(idlest.index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Take the next waiting job out of a CPU's queue
+     * Returns -1 and corrects the load of the CPU if its queue turned out to be empty
+     */
+    private int moveFrom(Cpu cpu, long now) {
+        int job = cpu.scheduler.takeNext(now);
+        int runningJobs = cpu.running >= 0 ? 1 : 0;
+        if (job < 0) {
+            queued -= cpu.load - runningJobs;
+            cpu.load = runningJobs;
+            return -1;
+        }
+        cpu.scheduler.onMigrate(job, now);
+        cpu.load--;
+        queued--;
+        rebalanced++;
+        return job;
+    }
+
+    /**
+     * Hand every process that arrives at the given quantum to a ready queue
+     */
+    private void admitArrivals(long quantum) {
+        if (quantum >= horizon) {
+            return;
+        }
+        while (arrivals.hasNext() && arrivals.peekArrivalTime() <= quantum) {
+            place(nextArrival(), quantum);
+        }
+    }
+
+    /**
+     * Load the next process of the stream into the table
+     */
+    private int nextArrival() {
+        int arrivalTime = arrivals.peekArrivalTime();
+        if (arrivalTime < lastArrivalTime) {
+            throw new IllegalStateException("Arrivals are not in order of arrival time: "
+                    + arrivalTime + " after " + lastArrivalTime);
+        }
+        lastArrivalTime = arrivalTime;
+        int job = arrivals.next(table);
+        if (job >= lastCore.length) {
+            lastCore = Arrays.copyOf(lastCore, Math.max(job + 1, lastCore.length * 2));
+        }
+        lastCore[job] = -1;
+        return job;
+    }
+
+    /**
+     * Queue an arriving job on the least loaded CPU, the first one if several are
+     */
+    private void place(int job, long now) {
+        if (balancing == LoadBalancing.GLOBAL_QUEUE) {
+            cpus[0].scheduler.admit(job, now);
+            pending.or(free);
+            return;
+        }
+        Cpu target = cpus[0];
+        for (Cpu cpu : cpus) {
+            if (cpu.load < target.load) {
+                target = cpu;
+            }
+        }
+        target.scheduler.admit(job, now);
+        target.load++;
+        queued++;
+        if (target.running < 0) {
+            pending.set(target.index);
+        }
+    }
+
+    /**
+     * Quantum at which the next pending arrival will be admitted
+     * Returns Long.MAX_VALUE if no more processes will be admitted
+     */
+    private long nextAdmission(long now) {
+        if (!arrivals.hasNext() || now >= horizon) {
+            return Long.MAX_VALUE;
+        }
+        long admission = arrivals.peekArrivalTime();
+        return admission < horizon ? admission : Long.MAX_VALUE;
+    }
+
+    /**
+     * Simulate one balance interval after the other, with every CPU on its own during an interval
+     */
+    private void runPartitioned() {
+        completions = new IndexedMinHeap(this::compareCompletions, cores);
+        finished = false;
+        intervalStart = 0;
+        balanceAndPlace(0);
+        int workers = Math.min(threads, cores);
+        if (workers == 1) {
+            while (!finished) {
+                for (Cpu cpu : cpus) {
+                    advance(cpu);
+                }
+                endInterval();
+            }
+            return;
+        }
+
+        // The last worker to reach the barrier ends the interval while the others wait.
+        // A failure ends the run at the next barrier, so no worker is left waiting.
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CyclicBarrier barrier = new CyclicBarrier(workers, () -> {
+            try {
+                if (failure.get() == null) {
+                    endInterval();
+                }
+            } catch (RuntimeException | Error e) {
+                failure.compareAndSet(null, e);
+            }
+            if (failure.get() != null) {
+                finished = true;
+            }
+        });
+        Thread[] helpers = new Thread[workers - 1];
+        for (int worker = 1; worker < workers; worker++) {
+            int first = worker * cores / workers;
+            int last = (worker + 1) * cores / workers;
+            helpers[worker - 1] = new Thread(() -> runWorker(barrier, first, last, failure), "cpu-partition-" + worker);
+            helpers[worker - 1].setDaemon(true);
+            helpers[worker - 1].start();
+        }
+        runWorker(barrier, 0, cores / workers, failure);
+        for (Thread helper : helpers) {
+            try {
+                helper.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the simulation threads", e);
+            }
+        }
+
+        Throwable error = failure.get();
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        if (error != null) {
+            throw new IllegalStateException("Simulation thread failed", error);
+        }
+    }
+
+    /**
+     * Simulate CPUs first to last - 1 interval by interval until the run is finished
+     */
+    private void runWorker(CyclicBarrier barrier, int first, int last, AtomicReference<Throwable> failure) {
+        while (!finished) {
+            if (failure.get() == null) {
+                try {
+                    for (int core = first; core < last; core++) {
+                        advance(cpus[core]);
+                    }
+                } catch (RuntimeException | Error e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+            try {
+                barrier.await();
+            } catch (InterruptedException e) {
+                // Breaks the barrier for the other workers
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+                return;
+            } catch (BrokenBarrierException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Simulate a CPU on its own from the start of the interval up to and including the runs
+     * and context switches that end with it. Touches nothing but the CPU, its queue and its jobs.
+     */
+    private void advance(Cpu cpu) {
+        long now = intervalStart;
+        while (true) {
+            // Jobs placed on the CPU that arrive now
+            while (!cpu.arrivals.isEmpty() && table.getArrivalTime(cpu.arrivals.peekFirst()) <= now) {
+                cpu.scheduler.admit(cpu.arrivals.pollFirst(), now);
+                cpu.load++;
+                cpu.lastEvent = now;
+                if (cpu.running < 0) {
+                    cpu.pending = true;
+                }
+            }
+            if (cpu.pending) {
+                dispatch(cpu, now);
+            }
+
+            long next = cpu.running >= 0 && cpu.busyUntil > now ? cpu.busyUntil : Long.MAX_VALUE;
+            if (!cpu.arrivals.isEmpty()) {
+                next = Math.min(next, table.getArrivalTime(cpu.arrivals.peekFirst()));
+            }
+            if (next > intervalEnd) {
+                return;
+            }
+            now = next;
+            if (cpu.running >= 0 && cpu.busyUntil == now) {
+                cpu.lastEvent = now;
+                cpu.pending = true;
+                if (cpu.switching) {
+                    cpu.switching = false;
+                } else {
+                    int job = cpu.running;
+                    if (cpu.finishRun(now)) {
+                        cpu.load--;
+                        cpu.completed.addLast(job);
+                    }
+                }
+            }
+            if (now == intervalEnd) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Start a run on a CPU of the partitioned simulation that finished a context switch or is free
+     */
+    private void dispatch(Cpu cpu, long now) {
+        cpu.pending = false;
+        if (cpu.running < 0) {
+            int job = cpu.scheduler.takeNext(now);
+            if (job < 0) {
+                // The queue is empty, policies may have dropped jobs that can no longer run
+                cpu.load = 0;
+                cpu.lastJob = -1;
+                return;
+            }
+            if (cpu.switchTo(job, now)) {
+                return;
+            }
+        }
+
+        // Only the jobs placed on this CPU arrive before the end of the interval
+        long nextAdmission = Long.MAX_VALUE;
+        if (now < horizon) {
+            if (!cpu.arrivals.isEmpty()) {
+                nextAdmission = table.getArrivalTime(cpu.arrivals.peekFirst());
+            } else if (moreArrivals) {
+                nextAdmission = intervalEnd;
+            }
+        }
+        cpu.startRun(now, nextAdmission);
+    }
+
+    /**
+     * Report the completions of the interval, start the next interval with a balancing round,
+     * or skip to the interval of the next arrival if all CPUs are idle
+     */
+    private void endInterval() {
+        reportCompletions();
+        intervalStart = intervalEnd;
+        balanceAndPlace(intervalStart);
+
+        for (Cpu cpu : cpus) {
+            if (cpu.running >= 0 || cpu.pending || !cpu.arrivals.isEmpty()) {
+                return;
+            }
+        }
+        if (moreArrivals) {
+            int arrival = arrivals.peekArrivalTime();
+            intervalStart = arrival - arrival % balanceInterval;
+            balanceAndPlace(intervalStart);
+            return;
+        }
+
+        finished = true;
+        for (Cpu cpu : cpus) {
+            endQuantum = Math.max(endQuantum, cpu.lastEvent);
+        }
+    }
+
+    /**
+     * Balance the waiting jobs at the start of an interval and place the jobs that arrive
+     * during it, each on the CPU with the fewest jobs queued, running or placed
+     */
+    private void balanceAndPlace(long start) {
+        queued = 0;
+        for (Cpu cpu : cpus) {
+            queued += cpu.waiting();
+        }
+        balance(start);
+        for (int core = pending.nextSetBit(0); core >= 0; core = pending.nextSetBit(core + 1)) {
+            cpus[core].pending = true;
+        }
+        pending.clear();
+
+        intervalEnd = start + balanceInterval;
+        long placeUntil = Math.min(intervalEnd, horizon);
+        while (arrivals.hasNext() && arrivals.peekArrivalTime() < placeUntil) {
+            int job = nextArrival();
+            Cpu target = cpus[0];
+            for (Cpu cpu : cpus) {
+                if (cpu.load + cpu.arrivals.size() < target.load + target.arrivals.size()) {
+                    target = cpu;
+                }
+            }
+            target.arrivals.addLast(job);
+        }
+        moreArrivals = arrivals.hasNext() && arrivals.peekArrivalTime() < horizon;
+    }
+
+    /**
+     * Notify the listeners of the jobs completed during the interval in the order a
+     * sequential run completes them: by completion time, then CPU
+     */
+    private void reportCompletions() {
+        for (Cpu cpu : cpus) {
+            if (!cpu.completed.isEmpty()) {
+                completions.add(cpu.index);
+            }
+        }
+        while (!completions.isEmpty()) {
+            Cpu cpu = cpus[completions.poll()];
+            completed(cpu.completed.pollFirst());
+            if (!cpu.completed.isEmpty()) {
+                completions.add(cpu.index);
+            }
+        }
+    }
+
+    private int compareBusyCores(int core1, int core2) {
+        int result = Long.compare(cpus[core1].busyUntil, cpus[core2].busyUntil);
+        return result != 0 ? result : Integer.compare(core1, core2);
+    }
+
+    private int compareCompletions(int core1, int core2) {
+        int result = Integer.compare(table.getCompletionTime(cpus[core1].completed.peekFirst()),
+                table.getCompletionTime(cpus[core2].completed.peekFirst()));
+        return result != 0 ? result : Integer.compare(core1, core2);
+    }
+
+    /**
+     * State and statistics of one CPU
+     */
+    private final class Cpu {
+
+        private final int index;
+        private final Scheduler scheduler;  // ready queue of the CPU, the shared one for GLOBAL_QUEUE
+        private final Timeline timeline;
+
+        private int running;           // job running or being switched to, -1 if the CPU is free
+        private long busyUntil;        // end of the run or context switch in progress
+        private long runLength;        // quanta of the run in progress
+        private boolean switching;     // busyUntil is the end of a context switch
+        private int lastJob;
+        private int load;              // jobs queued on the CPU plus the one it runs (per-CPU queues)
+        private long clock;            // quantum up to which the timeline is filled
+
+        private long busyQuanta;
+        private long contextSwitches;
+        private long switchOverhead;
+        private long migrations;
+        private long completedJobs;
+
+        // PARTITIONED balancing: jobs placed on the CPU for the interval in order of arrival,
+        // jobs completed during the interval and whether the CPU is to be dispatched
+        private final IntRingBuffer arrivals;
+        private final IntRingBuffer completed;
+        private boolean pending;
+        private long lastEvent;
+
+        private Cpu(int index, Scheduler scheduler) {
+            this.index = index;
+            this.scheduler = scheduler;
+            this.timeline = new Timeline();
+            this.running = -1;
+            this.lastJob = -1;
+            this.arrivals = new IntRingBuffer();
+            this.completed = new IntRingBuffer();
+        }
+
+        /**
+         * Make the job the one the CPU runs next
+         * Returns true if the CPU switches to it first, until busyUntil
+         */
+        private boolean switchTo(int job, long now) {
+            running = job;
+            if (job == lastJob) {
+                return false;
+            }
+
+            // Switching to another job costs overhead, the job starts when the switch ends
+            contextSwitches++;
+            if (contextSwitchCost == 0) {
+                return false;
+            }
+            fillIdle(now);
+            appendRun(Timeline.CONTEXT_SWITCH, contextSwitchCost);
+            switchOverhead += contextSwitchCost;
+            switching = true;
+            busyUntil = now + contextSwitchCost;
+            return true;
+        }
+
+        /**
+         * Run the job until the next scheduling event of this CPU
+         */
+        private void startRun(long now, long nextAdmission) {
+            int job = running;
+            lastJob = job;
+            if (lastCore[job] >= 0 && lastCore[job] != index) {
+                migrations++;
+            }
+            lastCore[job] = index;
+
+            // If this is the first time the process is getting CPU, set start time
+            if (!table.hasStarted(job)) {
+                table.setStartTime(job, (int) now);
+            }
+
+            int remaining = table.getRemainingTime(job);
+            long ran = Math.min(remaining, scheduler.sliceFor(job, now, nextAdmission));
+            table.setRemainingTime(job, remaining - (int) ran);
+            fillIdle(now);
+            appendRun(table.getPid(job), ran);
+            busyQuanta += ran;
+            runLength = ran;
+            busyUntil = now + ran;
+        }
+
+        /**
+         * End the run of the job, which completes or goes back to the ready queue
+         * Returns true if the job completed
+         */
+        private boolean finishRun(long now) {
+            int job = running;
+            running = -1;
+            if (table.isCompleted(job)) {
+                table.setCompletionTime(job, (int) now);
+                scheduler.onComplete(job, now);
+                completedJobs++;
+                return true;
+            }
+            scheduler.putBack(job, now, runLength);
+            return false;
+        }
+
+        private int waiting() {
+            return load - (running >= 0 ? 1 : 0);
+        }
+
+        private void fillIdle(long until) {
+            if (until > clock) {
+                appendRun(Timeline.IDLE, until - clock);
+            }
+        }
+
+        private void appendRun(int pid, long length) {
+            if (recordTimeline) {
+                timeline.append(pid, length);
+            }
+            clock += length;
+        }
+    }
+}
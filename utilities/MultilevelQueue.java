@@ -0,0 +1,121 @@
+package utilities;
+
+import java.util.ArrayDeque;
+
+/**
+ * FIFO queues of job ids for any number of priority levels (0 = highest).
+ * A bitmap records which levels are non-empty, so the highest non-empty level
+ * is found with a find-first-set on the bitmap words instead of checking every
+ * queue: O(1) for up to 64 levels, one extra word per further 64 levels.
+ */
+public class MultilevelQueue {
+
+    private ArrayDeque<Integer>[] queues;
+    private long[] nonEmpty;
+    private int size;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public MultilevelQueue(int levels) {
+        if (levels < 1) {
+            throw new IllegalArgumentException("Number of levels must be positive: " + levels);
+        }
+        this.queues = new ArrayDeque[levels];
+        for (int level = 0; level < levels; level++) {
+            queues[level] = new ArrayDeque<>();
+        }
+        this.nonEmpty = new long[(levels + 63) >>> 6];
+        this.size = 0;
+    }
+
+    public int levels() {
+        return queues.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int size(int level) {
+        return queues[level].size();
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean isEmpty(int level) {
+        return queues[level].isEmpty();
+    }
+
+    /**
+     * Append a job to the end of a level
+     */
+    public void addLast(int level, int job) {
+        queues[level].addLast(job);
+        markNonEmpty(level);
+    }
+
+    /**
+     * Put a job at the front of a level
+     */
+    public void addFirst(int level, int job) {
+        queues[level].addFirst(job);
+        markNonEmpty(level);
+    }
+
+    /**
+     * Highest level that holds a job, -1 if all levels are empty
+     */
+    public int highestLevel() {
+        for (int word = 0; word < nonEmpty.length; word++) {
+            if (nonEmpty[word] != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(nonEmpty[word]);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * First job of the highest non-empty level, -1 if all levels are empty
+     */
+    public int peekFirst() {
+        int level = highestLevel();
+        return level < 0 ? -1 : queues[level].peekFirst();
+    }
+
+    /**
+     * Remove and return the first job of the highest non-empty level, -1 if all levels are empty
+     */
+    public int pollFirst() {
+        int level = highestLevel();
+        return level < 0 ? -1 : pollFirst(level);
+    }
+
+    /**
+     * First job of a level, -1 if the level is empty
+     */
+    public int peekFirst(int level) {
+        Integer job = queues[level].peekFirst();
+        return job == null ? -1 : job;
+    }
+
+    /**
+     * Remove and return the first job of a level, -1 if the level is empty
+     */
+    public int pollFirst(int level) {
+        Integer job = queues[level].pollFirst();
+        if (job == null) {
+            return -1;
+        }
+        size--;
+        if (queues[level].isEmpty()) {
+            nonEmpty[level >>> 6] &= ~(1L << level);
+        }
+        return job;
+    }
+
+    private void markNonEmpty(int level) {
+        size++;
+        nonEmpty[level >>> 6] |= 1L << level;
+    }
+}
@@ -0,0 +1,87 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
+
+/**
+ * Runs independent tasks, such as the iterations of a simulation, on a fork-join pool
+ * and returns their results in task order, whatever order they finish in.
+ * Tasks started from inside another task join the same pool instead of creating
+ * a new one, so iterations of algorithms that run in parallel share the cores.
+ */
+public class ParallelRunner {
+
+    private int parallelism;
+
+    /**
+     * Runner using all available cores
+     */
+    public ParallelRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism - number of tasks run at the same time, 1 runs them in order on the calling thread
+     */
+    public ParallelRunner(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Run task(0) to task(count - 1) and return the results in that order
+     * Exceptions thrown by a task are rethrown to the caller
+     */
+    public <T> List<T> map(int count, IntFunction<T> task) {
+        List<T> results = new ArrayList<>(count);
+        if (parallelism == 1 || count <= 1) {
+            for (int i = 0; i < count; i++) {
+                results.add(task.apply(i));
+            }
+            return results;
+        }
+
+        List<RecursiveTask<T>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            tasks.add(new RecursiveTask<T>() {
+                @Override
+                protected T compute() {
+                    return task.apply(index);
+                }
+            });
+        }
+
+        if (ForkJoinTask.inForkJoinPool()) {
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(new RecursiveTask<Void>() {
+                    @Override
+                    protected Void compute() {
+                        ForkJoinTask.invokeAll(tasks);
+                        return null;
+                    }
+                });
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        for (RecursiveTask<T> t : tasks) {
+            results.add(t.join());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,78 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Jobs released by a set of periodic tasks, generated one at a time in release order.
+ * Only the next release of every task is kept, in a min-heap of the tasks, so a stream
+ * costs O(tasks) memory and O(log tasks) per job however long it runs.
+ * Jobs released at the same quantum come in task order.
+ */
+public class PeriodicArrivalStream implements ArrivalStream {
+
+    private List<PeriodicTask> tasks;
+    private long[] nextRelease;
+    private IndexedMinHeap releases;
+    private long end;
+    private int nextPid;
+
+    /**
+     * @param tasks - the periodic tasks
+     * @param end - quantum from which no jobs are released, Long.MAX_VALUE for no end
+     */
+    public PeriodicArrivalStream(List<PeriodicTask> tasks, long end) {
+        this.tasks = new ArrayList<>(tasks);
+        this.nextRelease = new long[tasks.size()];
+        this.releases = new IndexedMinHeap(this::compare, Math.max(1, tasks.size()));
+        this.end = Math.min(end, Integer.MAX_VALUE);
+        this.nextPid = 0;
+        for (int task = 0; task < tasks.size(); task++) {
+            nextRelease[task] = tasks.get(task).getOffset();
+            if (nextRelease[task] < this.end) {
+                releases.add(task);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !releases.isEmpty();
+    }
+
+    @Override
+    public int peekArrivalTime() {
+        return (int) nextRelease[releases.peek()];
+    }
+
+    @Override
+    public int next(ProcessTable table) {
+        int index = releases.peek();
+        PeriodicTask task = tasks.get(index);
+        int job = table.allocate(nextPid++, (int) nextRelease[index], task.getRuntime(), task.getPriority());
+        table.setDeadline(job, task.getDeadline(), task.getPeriod());
+
+        nextRelease[index] += task.getPeriod();
+        if (nextRelease[index] < end) {
+            releases.update(index);
+        } else {
+            releases.poll();
+        }
+        return job;
+    }
+
+    /**
+     * Number of jobs released so far
+     */
+    public int getReleased() {
+        return nextPid;
+    }
+
+    private int compare(int task1, int task2) {
+        int result = Long.compare(nextRelease[task1], nextRelease[task2]);
+        if (result == 0) {
+            result = Integer.compare(task1, task2);
+        }
+        return result;
+    }
+}
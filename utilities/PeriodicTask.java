@@ -0,0 +1,106 @@
+package utilities;
+
+import java.util.List;
+
+/**
+ * Task that releases a job every period, from its first release on.
+ * Every job needs runtime quanta of CPU and must complete within the relative deadline
+ * of its release; the deadline is at most the period, so a task has one job in the
+ * system at a time when it is schedulable.
+ */
+public class PeriodicTask {
+
+    private final int period;
+    private final int runtime;
+    private final int deadline;
+    private final int priority;
+    private final int offset;
+
+    /**
+     * Task with deadlines equal to its period, released from quantum 0 on
+     */
+    public PeriodicTask(int period, int runtime, int priority) {
+        this(period, runtime, period, priority, 0);
+    }
+
+    /**
+     * @param period - quanta between two releases
+     * @param runtime - quanta of CPU every job needs
+     * @param deadline - quanta after its release by which a job must complete, runtime..period
+     * @param priority - priority of the jobs, for the per-priority statistics
+     * @param offset - quantum of the first release
+     */
+    public PeriodicTask(int period, int runtime, int deadline, int priority, int offset) {
+        if (runtime < 1) {
+            throw new IllegalArgumentException("Runtime must be at least 1 quantum: " + runtime);
+        }
+        if (deadline < runtime || deadline > period) {
+            throw new IllegalArgumentException("Deadline " + deadline + " is outside the runtime and the period: "
+                    + runtime + ".." + period);
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative: " + offset);
+        }
+        this.period = period;
+        this.runtime = runtime;
+        this.deadline = deadline;
+        this.priority = priority;
+        this.offset = offset;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public int getRuntime() {
+        return runtime;
+    }
+
+    public int getDeadline() {
+        return deadline;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Share of the CPU the task needs: runtime / period
+     */
+    public double getUtilization() {
+        return (double) runtime / period;
+    }
+
+    /**
+     * Share of the CPU the task needs between a release and its deadline: runtime / deadline
+     */
+    public double getDensity() {
+        return (double) runtime / deadline;
+    }
+
+    /**
+     * Sum of the utilizations of the tasks
+     */
+    public static double utilization(List<PeriodicTask> tasks) {
+        double total = 0.0;
+        for (PeriodicTask task : tasks) {
+            total += task.getUtilization();
+        }
+        return total;
+    }
+
+    /**
+     * Sum of the densities of the tasks
+     */
+    public static double density(List<PeriodicTask> tasks) {
+        double total = 0.0;
+        for (PeriodicTask task : tasks) {
+            total += task.getDensity();
+        }
+        return total;
+    }
+}
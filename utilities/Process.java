@@ -5,6 +5,8 @@ import java.util.Random;
 /**
  * Process class representing a process in the CPU scheduling simulation
  * Each process has arrival time, runtime, priority, process ID, completion time, and response time
+ * A process with a deadline must complete within that many quanta of its arrival; a job
+ * released by a periodic task also knows the task's period.
  */
 public class Process {
     private float arrivalTime;
@@ -14,20 +16,45 @@ public class Process {
     private float completionTime;
     private float responseTime;
     private float remainingTime;  // For preemptive algorithms (RR, SRT)
+    private int deadline;         // Relative to the arrival time, 0 if none
+    private int period;           // Period of the task that released the process, 0 if aperiodic
 
     /**
      * Default constructor - generates random process attributes
      */
     public Process(Random rand) {
-        this.arrivalTime = rand.nextInt(100);
+        this(rand, 100, 4);
+    }
+
+    /**
+     * Generates random process attributes
+     *
+     * @param simulationTime - processes arrive in quanta 0..simulationTime-1
+     * @param priorityLevels - processes get priorities 1..priorityLevels
+     */
+    public Process(Random rand, int simulationTime, int priorityLevels) {
+        this.arrivalTime = rand.nextInt(simulationTime);
         this.runtime = rand.nextInt(10) + 1; // Service time 1-10 quantum
-        this.priority = rand.nextInt(4) + 1;
+        this.priority = rand.nextInt(priorityLevels) + 1;
         this.pid = -1;
         this.completionTime = -1.0f;
         this.responseTime = -1.0f;
         this.remainingTime = this.runtime;  // Initially, remaining time equals runtime
     }
 
+    /**
+     * Constructor for a process with the given attributes
+     */
+    public Process(int arrivalTime, int runtime, int priority) {
+        this.arrivalTime = arrivalTime;
+        this.runtime = runtime;
+        this.priority = priority;
+        this.pid = -1;
+        this.completionTime = -1.0f;
+        this.responseTime = -1.0f;
+        this.remainingTime = this.runtime;
+    }
+
     /**
      * Constructor for creating a dummy process
      */
@@ -70,6 +97,14 @@ public class Process {
         return remainingTime;
     }
 
+    public int getDeadline() {
+        return deadline;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
     // Setters
     public void setPid(int pid) {
         this.pid = pid;
@@ -87,6 +122,15 @@ public class Process {
         this.remainingTime = remainingTime;
     }
 
+    /**
+     * @param deadline - quanta after the arrival time by which the process must complete, 0 for none
+     * @param period - period of the task that released the process, 0 if aperiodic
+     */
+    public void setDeadline(int deadline, int period) {
+        this.deadline = deadline;
+        this.period = period;
+    }
+
     /**
      * Reset remaining time to original runtime (useful for multiple iterations)
      */
@@ -124,9 +168,9 @@ public class Process {
     }
 
     /**
-     * Get process name based on pid.
+     * Get process name based on pid, see Timeline.nameOf().
      */
-    public char getProcessName() {
-        return (char) ('A' + pid);
+    public String getProcessName() {
+        return Timeline.nameOf(pid, Timeline.nameWidth(pid));
     }
 }
\ No newline at end of file
@@ -20,12 +20,26 @@ public class ProcessGenerator {
      * @return List of generated processes
      */
     public static List<Process> generateProcesses(int totalProcesses, int seed) {
+        return generateProcesses(totalProcesses, seed, 100, 4);
+    }
+    
+    /**
+     * Generate a list of processes arriving within the given simulation time
+     * Processes are sorted by arrival time
+     * 
+     * @param totalProcesses - number of processes to generate
+     * @param seed - random seed for reproducibility
+     * @param simulationTime - processes arrive in quanta 0..simulationTime-1
+     * @param priorityLevels - processes get priorities 1..priorityLevels
+     * @return List of generated processes
+     */
+    public static List<Process> generateProcesses(int totalProcesses, long seed, int simulationTime, int priorityLevels) {
         Random rand = new Random(seed);
         List<Process> processes = new ArrayList<>();
         
         // Create processes with random attributes
         for (int i = 0; i < totalProcesses; i++) {
-            processes.add(new Process(rand));
+            processes.add(new Process(rand, simulationTime, priorityLevels));
         }
         
         // Sort processes by arrival time
@@ -44,6 +58,18 @@ public class ProcessGenerator {
         return processes;
     }
     
+    /**
+     * Stream processes one at a time in arrival order instead of generating the whole list
+     * 
+     * @param totalProcesses - number of processes to generate, Long.MAX_VALUE for no limit
+     * @param meanInterarrivalTime - average quanta between two arrivals
+     * @param seed - random seed for reproducibility
+     * @return Stream of generated processes
+     */
+    public static ArrivalStream streamProcesses(long totalProcesses, double meanInterarrivalTime, int seed) {
+        return new RandomArrivalStream(seed, meanInterarrivalTime, totalProcesses);
+    }
+    
     /**
      * Create a dummy process
      */
@@ -0,0 +1,372 @@
+package utilities;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Struct-of-arrays table of processes for large workloads.
+ * Every field of a process lives in its own primitive array indexed by the job id,
+ * so a job costs 36 bytes instead of a Process object plus a list slot, and the
+ * scheduler loops walk contiguous memory instead of chasing references.
+ * 
+ * A table is either filled up front with add(), in order of arrival time, so the
+ * job id is the insertion index, or fed from an ArrivalStream with allocate() and
+ * release(), which recycle the ids of completed jobs so the table only grows with
+ * the number of jobs in the system at the same time.
+ * 
+ * A job may have a deadline, kept relative to its arrival time (0 if none), and the period
+ * of the periodic task that released it (0 if aperiodic).
+ * 
+ * A table can also hold one run of an immutable Workload. It then shares the
+ * workload's arrays and only owns the remaining, start and completion times,
+ * which reset() restores for the next run without allocating.
+ */
+public class ProcessTable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Absolute deadline of a job without one, later than any deadline
+     */
+    public static final int NO_DEADLINE = Integer.MAX_VALUE;
+
+    private int size;
+    private int[] pid;
+    private int[] arrivalTime;
+    private int[] runtime;
+    private int[] remainingTime;
+    private int[] priority;
+    private int[] deadline;        // relative to the arrival time, 0 if none
+    private int[] period;          // 0 unless released by a periodic task
+    private int[] startTime;       // -1 until the job first gets the CPU
+    private int[] completionTime;  // -1 until the job finishes
+    private int[] freeJobs;
+    private int freeCount;
+    private Workload workload;     // null unless the table holds a run of a shared workload
+
+    public ProcessTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ProcessTable(int capacity) {
+        capacity = Math.max(1, capacity);
+        this.size = 0;
+        this.pid = new int[capacity];
+        this.arrivalTime = new int[capacity];
+        this.runtime = new int[capacity];
+        this.remainingTime = new int[capacity];
+        this.priority = new int[capacity];
+        this.deadline = new int[capacity];
+        this.period = new int[capacity];
+        this.startTime = new int[capacity];
+        this.completionTime = new int[capacity];
+        this.freeJobs = new int[0];
+        this.freeCount = 0;
+        this.workload = null;
+    }
+
+    /**
+     * Table for one run of the workload, no job has run yet
+     * Jobs cannot be added to the table.
+     */
+    public ProcessTable(Workload workload) {
+        this.size = workload.size();
+        this.pid = workload.pids();
+        this.arrivalTime = workload.arrivalTimes();
+        this.runtime = workload.runtimes();
+        this.priority = workload.priorities();
+        this.deadline = workload.deadlines();
+        this.period = workload.periods();
+        this.remainingTime = runtime.clone();
+        this.startTime = new int[size];
+        this.completionTime = new int[size];
+        Arrays.fill(startTime, -1);
+        Arrays.fill(completionTime, -1);
+        this.freeJobs = new int[0];
+        this.freeCount = 0;
+        this.workload = workload;
+    }
+
+    /**
+     * Create a table holding the given processes, in list order
+     */
+    public static ProcessTable fromProcesses(List<Process> processes) {
+        ProcessTable table = new ProcessTable(processes.size());
+        for (Process p : processes) {
+            int job = table.add((int) Math.ceil(p.getArrivalTime()), (int) Math.ceil(p.getRuntime()), p.getPriority());
+            if (p.getDeadline() > 0 || p.getPeriod() > 0) {
+                table.setDeadline(job, p.getDeadline(), p.getPeriod());
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Append a job that has not run yet
+     * Returns the id of the new job
+     */
+    public int add(int arrival, int runtime, int priority) {
+        checkWritable();
+        if (size > 0 && arrival < arrivalTime[size - 1]) {
+            throw new IllegalArgumentException("Jobs must be added in order of arrival time");
+        }
+        if (size == arrivalTime.length) {
+            grow();
+        }
+        int job = size++;
+        set(job, job, arrival, runtime, priority);
+        return job;
+    }
+
+    /**
+     * Store a streamed job, reusing the id of a released job if there is one
+     * Returns the id of the job in the table
+     *
+     * @param pid - process id of the job, used to name it
+     */
+    public int allocate(int pid, int arrival, int runtime, int priority) {
+        checkWritable();
+        int job;
+        if (freeCount > 0) {
+            job = freeJobs[--freeCount];
+        } else {
+            if (size == arrivalTime.length) {
+                grow();
+            }
+            job = size++;
+        }
+        set(job, pid, arrival, runtime, priority);
+        return job;
+    }
+
+    /**
+     * Give the id of a job that left the system back for reuse by allocate()
+     */
+    public void release(int job) {
+        if (freeCount == freeJobs.length) {
+            freeJobs = Arrays.copyOf(freeJobs, Math.max(16, freeJobs.length * 2));
+        }
+        freeJobs[freeCount++] = job;
+    }
+
+    /**
+     * Put every job back in the state before it arrived, so the table can hold
+     * another run of the same jobs. O(n) and allocation free.
+     */
+    public void reset() {
+        System.arraycopy(runtime, 0, remainingTime, 0, size);
+        Arrays.fill(startTime, 0, size, -1);
+        Arrays.fill(completionTime, 0, size, -1);
+    }
+
+    /**
+     * Stream over the jobs added to the table, in id order
+     */
+    public ArrivalStream arrivals() {
+        return new ArrivalStream() {
+            private int nextJob = 0;
+
+            @Override
+            public boolean hasNext() {
+                return nextJob < size;
+            }
+
+            @Override
+            public int peekArrivalTime() {
+                return arrivalTime[nextJob];
+            }
+
+            @Override
+            public int next(ProcessTable table) {
+                return nextJob++;
+            }
+        };
+    }
+
+    /**
+     * Copy start, completion and remaining time of every job back into the processes
+     * the table was created from
+     */
+    public void copyResultsTo(List<Process> processes) {
+        for (int job = 0; job < size; job++) {
+            Process p = processes.get(job);
+            p.setResponseTime(startTime[job]);
+            p.setCompletionTime(completionTime[job]);
+            p.setRemainingTime(remainingTime[job]);
+        }
+    }
+
+    /**
+     * Number of job ids in use or released for reuse
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getPid(int job) {
+        return pid[job];
+    }
+
+    public int getArrivalTime(int job) {
+        return arrivalTime[job];
+    }
+
+    public int getRuntime(int job) {
+        return runtime[job];
+    }
+
+    public int getPriority(int job) {
+        return priority[job];
+    }
+
+    public int getRemainingTime(int job) {
+        return remainingTime[job];
+    }
+
+    /**
+     * Deadline relative to the arrival time, 0 if the job has none
+     */
+    public int getRelativeDeadline(int job) {
+        return deadline[job];
+    }
+
+    /**
+     * Period of the task that released the job, 0 if it is aperiodic
+     */
+    public int getPeriod(int job) {
+        return period[job];
+    }
+
+    public int getStartTime(int job) {
+        return startTime[job];
+    }
+
+    public int getCompletionTime(int job) {
+        return completionTime[job];
+    }
+
+    public void setRemainingTime(int job, int remaining) {
+        remainingTime[job] = remaining;
+    }
+
+    public void setStartTime(int job, int start) {
+        startTime[job] = start;
+    }
+
+    public void setCompletionTime(int job, int completion) {
+        completionTime[job] = completion;
+    }
+
+    /**
+     * Give a job added or allocated before a deadline
+     *
+     * @param relativeDeadline - quanta after the arrival time by which the job must complete, 0 for none
+     * @param period - period of the task that released the job, 0 if aperiodic
+     */
+    public void setDeadline(int job, int relativeDeadline, int period) {
+        checkWritable();
+        if (relativeDeadline < 0 || period < 0) {
+            throw new IllegalArgumentException("Deadline and period must not be negative: "
+                    + relativeDeadline + ", " + period);
+        }
+        this.deadline[job] = relativeDeadline;
+        this.period[job] = period;
+    }
+
+    /**
+     * Check if the job has a deadline
+     */
+    public boolean hasDeadline(int job) {
+        return getRelativeDeadline(job) > 0;
+    }
+
+    /**
+     * Quantum by which the job must complete, NO_DEADLINE if it has none
+     */
+    public int getDeadline(int job) {
+        if (!hasDeadline(job)) {
+            return NO_DEADLINE;
+        }
+        return (int) Math.min(NO_DEADLINE, (long) getArrivalTime(job) + getRelativeDeadline(job));
+    }
+
+    /**
+     * Calculate lateness = completion time - deadline, negative if the job completed early
+     */
+    public int getLateness(int job) {
+        return getCompletionTime(job) - getDeadline(job);
+    }
+
+    /**
+     * Check if the job got the CPU at least once
+     */
+    public boolean hasStarted(int job) {
+        return startTime[job] != -1;
+    }
+
+    /**
+     * Check if job is completed
+     */
+    public boolean isCompleted(int job) {
+        return remainingTime[job] <= 0;
+    }
+
+    /**
+     * Calculate turnaround time = completion time - arrival time
+     */
+    public int getTurnaroundTime(int job) {
+        return completionTime[job] - arrivalTime[job];
+    }
+
+    /**
+     * Calculate response time = start time - arrival time
+     */
+    public int getResponseTimeValue(int job) {
+        return startTime[job] - arrivalTime[job];
+    }
+
+    /**
+     * Calculate wait time = turnaround time - runtime
+     */
+    public int getWaitTime(int job) {
+        return getTurnaroundTime(job) - runtime[job];
+    }
+
+    /**
+     * Get process name based on pid, see Timeline.nameOf()
+     */
+    public String getProcessName(int job) {
+        return Timeline.nameOf(getPid(job), Timeline.nameWidth(getPid(job)));
+    }
+
+    private void checkWritable() {
+        if (workload != null) {
+            throw new IllegalStateException("Jobs of a shared workload cannot be changed");
+        }
+    }
+
+    private void set(int job, int pid, int arrival, int runtime, int priority) {
+        this.pid[job] = pid;
+        this.arrivalTime[job] = arrival;
+        this.runtime[job] = runtime;
+        this.remainingTime[job] = runtime;
+        this.priority[job] = priority;
+        this.deadline[job] = 0;
+        this.period[job] = 0;
+        this.startTime[job] = -1;
+        this.completionTime[job] = -1;
+    }
+
+    private void grow() {
+        int capacity = arrivalTime.length * 2;
+        pid = Arrays.copyOf(pid, capacity);
+        arrivalTime = Arrays.copyOf(arrivalTime, capacity);
+        runtime = Arrays.copyOf(runtime, capacity);
+        remainingTime = Arrays.copyOf(remainingTime, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        deadline = Arrays.copyOf(deadline, capacity);
+        period = Arrays.copyOf(period, capacity);
+        startTime = Arrays.copyOf(startTime, capacity);
+        completionTime = Arrays.copyOf(completionTime, capacity);
+    }
+}
@@ -0,0 +1,20 @@
+package utilities;
+
+/**
+ * Scheduling policy that gives every job a share of the CPU in proportion to its weight.
+ * The share error of a job is the CPU time it received minus the time it was entitled
+ * to while it was in the system, in quanta; the SimulationDriver reports it
+ * next to the other statistics.
+ */
+public interface ProportionalShare {
+
+    /**
+     * Mean of the absolute share errors of the completed jobs
+     */
+    double getMeanShareError();
+
+    /**
+     * Largest absolute share error of a completed job
+     */
+    double getMaxShareError();
+}
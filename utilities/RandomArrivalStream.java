@@ -0,0 +1,54 @@
+package utilities;
+
+import java.util.Random;
+
+/**
+ * Open-ended stream of random processes generated one at a time in arrival order.
+ * Gaps between arrivals are exponentially distributed (a Poisson arrival process);
+ * runtime and priority follow the same distributions as Process(Random).
+ */
+public class RandomArrivalStream implements ArrivalStream {
+
+    private Random rand;
+    private double meanInterarrivalTime;
+    private long remainingJobs;
+    private double nextArrival;
+    private int nextPid;
+
+    /**
+     * @param seed - random seed for reproducibility
+     * @param meanInterarrivalTime - average quanta between two arrivals
+     * @param totalProcesses - number of processes to generate, Long.MAX_VALUE for no limit
+     */
+    public RandomArrivalStream(long seed, double meanInterarrivalTime, long totalProcesses) {
+        if (meanInterarrivalTime < 0) {
+            throw new IllegalArgumentException("Mean interarrival time must not be negative: " + meanInterarrivalTime);
+        }
+        this.rand = new Random(seed);
+        this.meanInterarrivalTime = meanInterarrivalTime;
+        this.remainingJobs = totalProcesses;
+        this.nextArrival = 0.0;
+        this.nextPid = 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return remainingJobs > 0 && nextArrival < Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int peekArrivalTime() {
+        return (int) nextArrival;
+    }
+
+    @Override
+    public int next(ProcessTable table) {
+        int runtime = rand.nextInt(10) + 1; // Service time 1-10 quantum
+        int priority = rand.nextInt(4) + 1;
+        int job = table.allocate(nextPid++, (int) nextArrival, runtime, priority);
+
+        remainingJobs--;
+        nextArrival += -Math.log(1.0 - rand.nextDouble()) * meanInterarrivalTime;
+        return job;
+    }
+}
@@ -0,0 +1,49 @@
+package utilities;
+
+import java.io.PrintStream;
+
+/**
+ * Format of the reports a SimulationDriver writes
+ *
+ * Iterations run in parallel, so writeIteration() is called from the thread of the
+ * iteration with a buffer of its own; the driver copies the buffers to the output in
+ * iteration order. writeHeader() and writeSummary() are called from the printing thread.
+ * Drivers writing to the same output should share one format, so a header is written once.
+ */
+public interface ReportFormat {
+
+    /**
+     * Write whatever precedes the first report on the output
+     */
+    default void writeHeader(PrintStream out) {
+    }
+
+    /**
+     * Write the report of one iteration
+     */
+    void writeIteration(PrintStream out, IterationResult result);
+
+    /**
+     * Write the statistics averaged over all iterations
+     */
+    void writeSummary(PrintStream out, String algorithmName, int iterations, RunStatistics overall);
+
+    /**
+     * Format by name: table, csv, jsonl or binary
+     */
+    static ReportFormat forName(String name) {
+        switch (name.toLowerCase()) {
+            case "table":
+                return new TableReport();
+            case "csv":
+                return new CsvReport();
+            case "jsonl":
+            case "json":
+                return new JsonLinesReport();
+            case "binary":
+                return new BinaryReport();
+            default:
+                throw new IllegalArgumentException("Unknown report format: " + name + " (table, csv, jsonl or binary)");
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package utilities;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Report options shared by the simulation mains:
+ *   --format table|csv|jsonl|binary   report format (default table)
+ *   --output file                     write the report to the file
+ * Other arguments are left for the main to read.
+ *
+ * Reports are written through a large buffer without flushing after every line,
+ * so writing them does not slow down large runs.
+ */
+public class ReportOptions {
+
+    public static final int BUFFER_SIZE = 1 << 20;
+
+    private ReportFormat format;
+    private boolean table;
+    private String output;
+    private String[] arguments;
+
+    private ReportOptions(ReportFormat format, boolean table, String output, String[] arguments) {
+        this.format = format;
+        this.table = table;
+        this.output = output;
+        this.arguments = arguments;
+    }
+
+    public static ReportOptions parse(String[] args) {
+        String formatName = "table";
+        String output = null;
+        List<String> arguments = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--format") || args[i].equals("--output")) {
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                if (args[i].equals("--format")) {
+                    formatName = args[++i];
+                } else {
+                    output = args[++i];
+                }
+            } else {
+                arguments.add(args[i]);
+            }
+        }
+        ReportFormat format = ReportFormat.forName(formatName);
+        return new ReportOptions(format, format instanceof TableReport, output, arguments.toArray(new String[0]));
+    }
+
+    public ReportFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Check if the report is the human readable table, the only one with banners
+     */
+    public boolean isTable() {
+        return table;
+    }
+
+    /**
+     * Arguments other than the report options, in order
+     */
+    public String[] getArguments() {
+        return arguments;
+    }
+
+    /**
+     * Open the buffered report output: the --output file, else defaultFile,
+     * else standard output if defaultFile is null. Close it to flush the report.
+     */
+    public PrintStream openOutput(String defaultFile) throws FileNotFoundException {
+        String file = output != null ? output : defaultFile;
+        if (file == null) {
+            System.out.flush();
+            return new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), BUFFER_SIZE), false);
+        }
+        return new PrintStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE), false);
+    }
+}
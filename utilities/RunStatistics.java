@@ -0,0 +1,265 @@
+package utilities;
+
+import java.util.List;
+
+/**
+ * Average turnaround, wait and response time and throughput of a simulation run,
+ * with the distribution of each latency for percentiles
+ * Runs of jobs with deadlines also get the deadline miss ratio and the lateness distribution.
+ */
+public class RunStatistics {
+
+    private int processCount;
+    private double avgTurnaroundTime;
+    private double avgWaitTime;
+    private double avgResponseTime;
+    private double throughput;
+    private double lastCompletionTime;
+    private double contextSwitches;
+    private double switchOverhead;
+    private boolean shareErrorRecorded;
+    private double meanShareError;
+    private double maxShareError;
+    private boolean predictionErrorRecorded;
+    private double meanPredictionError;
+    private double maxPredictionError;
+    private double deadlineJobs;
+    private double deadlineMisses;
+    private LatencyStatistics lateness;
+    private LatencyStatistics turnaroundTimes;
+    private LatencyStatistics waitTimes;
+    private LatencyStatistics responseTimes;
+
+    public RunStatistics(int processCount, double avgTurnaroundTime, double avgWaitTime,
+                         double avgResponseTime, double throughput, double lastCompletionTime) {
+        this.processCount = processCount;
+        this.avgTurnaroundTime = avgTurnaroundTime;
+        this.avgWaitTime = avgWaitTime;
+        this.avgResponseTime = avgResponseTime;
+        this.throughput = throughput;
+        this.lastCompletionTime = lastCompletionTime;
+        this.turnaroundTimes = new LatencyStatistics();
+        this.waitTimes = new LatencyStatistics();
+        this.responseTimes = new LatencyStatistics();
+        this.lateness = new LatencyStatistics();
+    }
+
+    /**
+     * Average the statistics of several iterations
+     * Latency distributions are merged, so percentiles are over all processes of all iterations
+     */
+    public static RunStatistics average(List<RunStatistics> iterations) {
+        double processCount = 0.0;
+        double avgTurnaroundTime = 0.0;
+        double avgWaitTime = 0.0;
+        double avgResponseTime = 0.0;
+        double throughput = 0.0;
+        double lastCompletionTime = 0.0;
+        double contextSwitches = 0.0;
+        double switchOverhead = 0.0;
+        int shareErrorRuns = 0;
+        double meanShareError = 0.0;
+        double maxShareError = 0.0;
+        int predictionErrorRuns = 0;
+        double meanPredictionError = 0.0;
+        double maxPredictionError = 0.0;
+        double deadlineJobs = 0.0;
+        double deadlineMisses = 0.0;
+        LatencyStatistics lateness = new LatencyStatistics();
+        LatencyStatistics turnaroundTimes = new LatencyStatistics();
+        LatencyStatistics waitTimes = new LatencyStatistics();
+        LatencyStatistics responseTimes = new LatencyStatistics();
+
+        for (RunStatistics s : iterations) {
+            processCount += s.processCount;
+            avgTurnaroundTime += s.avgTurnaroundTime;
+            avgWaitTime += s.avgWaitTime;
+            avgResponseTime += s.avgResponseTime;
+            throughput += s.throughput;
+            lastCompletionTime += s.lastCompletionTime;
+            contextSwitches += s.contextSwitches;
+            switchOverhead += s.switchOverhead;
+            if (s.shareErrorRecorded) {
+                shareErrorRuns++;
+                meanShareError += s.meanShareError;
+                maxShareError = Math.max(maxShareError, s.maxShareError);
+            }
+            if (s.predictionErrorRecorded) {
+                predictionErrorRuns++;
+                meanPredictionError += s.meanPredictionError;
+                maxPredictionError = Math.max(maxPredictionError, s.maxPredictionError);
+            }
+            deadlineJobs += s.deadlineJobs;
+            deadlineMisses += s.deadlineMisses;
+            lateness.add(s.lateness);
+            turnaroundTimes.add(s.turnaroundTimes);
+            waitTimes.add(s.waitTimes);
+            responseTimes.add(s.responseTimes);
+        }
+
+        int n = Math.max(1, iterations.size());
+        RunStatistics average = new RunStatistics((int) Math.round(processCount / n), avgTurnaroundTime / n,
+                avgWaitTime / n, avgResponseTime / n, throughput / n, lastCompletionTime / n);
+        average.setContextSwitches(contextSwitches / n, switchOverhead / n);
+        if (shareErrorRuns > 0) {
+            average.setShareError(meanShareError / shareErrorRuns, maxShareError);
+        }
+        if (predictionErrorRuns > 0) {
+            average.setPredictionError(meanPredictionError / predictionErrorRuns, maxPredictionError);
+        }
+        if (deadlineJobs > 0) {
+            average.setDeadlines(deadlineJobs / n, deadlineMisses / n, lateness);
+        }
+        average.setLatencies(turnaroundTimes, waitTimes, responseTimes);
+        return average;
+    }
+
+    /**
+     * Record how often the CPU switched jobs and the quanta spent switching
+     */
+    public void setContextSwitches(double contextSwitches, double switchOverhead) {
+        this.contextSwitches = contextSwitches;
+        this.switchOverhead = switchOverhead;
+    }
+
+    /**
+     * Record the share errors of a proportional share policy (see ProportionalShare)
+     * Averaged runs keep the mean of the means and the largest error of any run
+     */
+    public void setShareError(double meanShareError, double maxShareError) {
+        this.shareErrorRecorded = true;
+        this.meanShareError = meanShareError;
+        this.maxShareError = maxShareError;
+    }
+
+    /**
+     * Record the burst prediction errors of a policy that predicts bursts (see BurstPrediction)
+     * Averaged runs keep the mean of the means and the largest error of any run
+     */
+    public void setPredictionError(double meanPredictionError, double maxPredictionError) {
+        this.predictionErrorRecorded = true;
+        this.meanPredictionError = meanPredictionError;
+        this.maxPredictionError = maxPredictionError;
+    }
+
+    /**
+     * Record how many completed jobs had a deadline, how many missed it and by how much
+     *
+     * @param lateness - quanta past the deadline of every job with one, 0 if it was met
+     */
+    public void setDeadlines(double deadlineJobs, double deadlineMisses, LatencyStatistics lateness) {
+        this.deadlineJobs = deadlineJobs;
+        this.deadlineMisses = deadlineMisses;
+        this.lateness = lateness;
+    }
+
+    /**
+     * Record the distributions the averages were taken from
+     */
+    public void setLatencies(LatencyStatistics turnaroundTimes, LatencyStatistics waitTimes,
+                             LatencyStatistics responseTimes) {
+        this.turnaroundTimes = turnaroundTimes;
+        this.waitTimes = waitTimes;
+        this.responseTimes = responseTimes;
+    }
+
+    public int getProcessCount() {
+        return processCount;
+    }
+
+    public double getAvgTurnaroundTime() {
+        return avgTurnaroundTime;
+    }
+
+    public double getAvgWaitTime() {
+        return avgWaitTime;
+    }
+
+    public double getAvgResponseTime() {
+        return avgResponseTime;
+    }
+
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public double getLastCompletionTime() {
+        return lastCompletionTime;
+    }
+
+    public double getContextSwitches() {
+        return contextSwitches;
+    }
+
+    public double getSwitchOverhead() {
+        return switchOverhead;
+    }
+
+    /**
+     * Check if the run was scheduled by a proportional share policy
+     */
+    public boolean isShareErrorRecorded() {
+        return shareErrorRecorded;
+    }
+
+    public double getMeanShareError() {
+        return meanShareError;
+    }
+
+    public double getMaxShareError() {
+        return maxShareError;
+    }
+
+    /**
+     * Check if the run was scheduled on predicted instead of true bursts
+     */
+    public boolean isPredictionErrorRecorded() {
+        return predictionErrorRecorded;
+    }
+
+    public double getMeanPredictionError() {
+        return meanPredictionError;
+    }
+
+    public double getMaxPredictionError() {
+        return maxPredictionError;
+    }
+
+    /**
+     * Check if any completed job had a deadline
+     */
+    public boolean hasDeadlines() {
+        return deadlineJobs > 0;
+    }
+
+    public double getDeadlineJobs() {
+        return deadlineJobs;
+    }
+
+    public double getDeadlineMisses() {
+        return deadlineMisses;
+    }
+
+    /**
+     * Share of the jobs with a deadline that completed after it
+     */
+    public double getDeadlineMissRatio() {
+        return deadlineJobs > 0 ? deadlineMisses / deadlineJobs : 0.0;
+    }
+
+    public LatencyStatistics getLateness() {
+        return lateness;
+    }
+
+    public LatencyStatistics getTurnaroundTimes() {
+        return turnaroundTimes;
+    }
+
+    public LatencyStatistics getWaitTimes() {
+        return waitTimes;
+    }
+
+    public LatencyStatistics getResponseTimes() {
+        return responseTimes;
+    }
+}
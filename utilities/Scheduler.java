@@ -0,0 +1,88 @@
+package utilities;
+
+/**
+ * Scheduling policy driven by the SimulationKernel.
+ * Jobs are identified by their id in the ProcessTable the kernel runs against.
+ * The kernel owns the clock and the per-process accounting; the policy only
+ * decides which job runs next and for how long it may run uninterrupted.
+ */
+public interface Scheduler {
+
+    /**
+     * Called when a job arrives and becomes eligible to run
+     */
+    void admit(int job, long now);
+
+    /**
+     * Select the job to run at the given quantum
+     * Returns -1 if no job is ready
+     */
+    int pickNext(long now);
+
+    /**
+     * Maximum number of quanta the selected job may run before the policy wants
+     * to decide again. The kernel never runs a job past its remaining time.
+     *
+     * @param nextAdmission - quantum at which the next arrival is admitted, or Long.MAX_VALUE if none
+     */
+    long sliceFor(int job, long now, long nextAdmission);
+
+    /**
+     * Called after a job ran for some quanta and still has work left
+     */
+    void onTick(int job, long now, long ran);
+
+    /**
+     * Called when a job finishes
+     * The job may have been taken with takeNext(), i.e. not be in the ready queue.
+     */
+    void onComplete(int job, long now);
+
+    /**
+     * Select the job to run on one of several CPUs and remove it from the ready queue,
+     * so no other CPU selects it while it runs; it comes back with putBack() if it still
+     * has work left after its slice. Also used to move a waiting job to another CPU.
+     * Policies whose pickNext() already removes the job need not override this.
+     * Returns -1 if no job is ready
+     */
+    default int takeNext(long now) {
+        return pickNext(now);
+    }
+
+    /**
+     * Return a job taken with takeNext() that ran and still has work left
+     */
+    default void putBack(int job, long now, long ran) {
+        onTick(job, now, ran);
+    }
+
+    /**
+     * Called when a job taken with takeNext() moves to another CPU instead of running here
+     * Policies that account for the jobs in the system let the job leave.
+     */
+    default void onMigrate(int job, long now) {
+    }
+
+    /**
+     * New jobs are only admitted before this quantum
+     * Returns Long.MAX_VALUE if the admission window is unbounded
+     */
+    default long horizon() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Quanta of overhead charged whenever the CPU switches to a different job
+     */
+    default int contextSwitchCost() {
+        return 0;
+    }
+
+    /**
+     * Whether the CPU clock keeps running (idle) until the admission horizon
+     * even when no more arrivals are pending
+     */
+    default boolean idlesUntilHorizon() {
+        return false;
+    }
+}
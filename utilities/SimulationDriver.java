@@ -0,0 +1,187 @@
+package utilities;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Runs a scheduling algorithm for multiple iterations on the SimulationKernel,
+ * prints the per-iteration report and the averaged statistics in a ReportFormat.
+ * Every algorithm shares this driver, so the reporting and the statistics
+ * are written once instead of once per simulation class.
+ * Iterations run in parallel on a ParallelRunner; reports are printed and
+ * statistics averaged in iteration order, so the output is the same as a sequential run.
+ */
+public class SimulationDriver {
+
+    private String algorithmName;
+    private IntFunction<Workload> workload;
+    private Function<ProcessTable, Scheduler> schedulerFactory;
+    private int iterations;
+    private PrintStream out;
+    private ReportFormat format;
+    private boolean reportPriorityLevels;
+    private ParallelRunner runner;
+
+    /**
+     * @param algorithmName - name shown in the report, e.g. "Round Robin (RR) [Preemptive]"
+     * @param workload - workload of an iteration (iterations are numbered from 1); iterations run in
+     *                   parallel, so it must seed its randomness from the iteration number only.
+     *                   Iterations may share one workload, every run has its own ProcessTable.
+     * @param schedulerFactory - creates the scheduling policy for a table of processes
+     */
+    public SimulationDriver(String algorithmName, IntFunction<Workload> workload,
+                            Function<ProcessTable, Scheduler> schedulerFactory) {
+        this.algorithmName = algorithmName;
+        this.workload = workload;
+        this.schedulerFactory = schedulerFactory;
+        this.iterations = 5;
+        this.out = System.out;
+        this.format = new TableReport();
+        this.reportPriorityLevels = false;
+        this.runner = new ParallelRunner();
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public void setOutput(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Format of the reports, a TableReport unless set
+     */
+    public void setReportFormat(ReportFormat format) {
+        this.format = format;
+    }
+
+    /**
+     * Also print statistics per priority level for every iteration
+     */
+    public void setReportPriorityLevels(boolean reportPriorityLevels) {
+        this.reportPriorityLevels = reportPriorityLevels;
+    }
+
+    /**
+     * Number of iterations run at the same time, 1 runs them one after the other
+     * Defaults to the number of available cores
+     */
+    public void setParallelism(int parallelism) {
+        this.runner = new ParallelRunner(parallelism);
+    }
+
+    /**
+     * Run all iterations and print the reports
+     * Returns the statistics averaged over all iterations
+     */
+    public RunStatistics run() {
+        Report report = execute();
+        print(report);
+        return report.overall;
+    }
+
+    /**
+     * Run several algorithms at the same time and print their reports in list order
+     * Returns the averaged statistics of every driver, in list order
+     */
+    public static List<RunStatistics> runAll(List<SimulationDriver> drivers) {
+        List<Report> reports = new ParallelRunner().map(drivers.size(), i -> drivers.get(i).execute());
+        List<RunStatistics> results = new ArrayList<>();
+        for (int i = 0; i < drivers.size(); i++) {
+            drivers.get(i).print(reports.get(i));
+            results.add(reports.get(i).overall);
+        }
+        return results;
+    }
+
+    /**
+     * Run the iterations on the runner; every iteration writes its report to its own
+     * buffer so the output and the averages do not depend on which iteration finishes first
+     */
+    private Report execute() {
+        List<Iteration> iterationResults = runner.map(iterations, i -> runIteration(i + 1));
+
+        List<RunStatistics> results = new ArrayList<>();
+        for (Iteration it : iterationResults) {
+            results.add(it.statistics);
+        }
+        return new Report(iterationResults, RunStatistics.average(results));
+    }
+
+    private void print(Report report) {
+        format.writeHeader(out);
+        for (Iteration it : report.iterations) {
+            out.writeBytes(it.report);
+        }
+        format.writeSummary(out, algorithmName, iterations, report.overall);
+        out.flush();
+    }
+
+    private Iteration runIteration(int iteration) {
+        ProcessTable table = new ProcessTable(workload.apply(iteration));
+        Scheduler scheduler = schedulerFactory.apply(table);
+        SimulationKernel kernel = new SimulationKernel(table, scheduler);
+        StatisticsCollector collector = new StatisticsCollector();
+        kernel.addCompletionListener(collector);
+        Timeline timeline = kernel.run();
+
+        // Get processes that actually ran
+        int ranCount = 0;
+        int[] ranJobs = new int[table.size()];
+        for (int job = 0; job < table.size(); job++) {
+            if (table.hasStarted(job)) {
+                ranJobs[ranCount++] = job;
+            }
+        }
+
+        RunStatistics statistics = collector.getStatistics();
+        statistics.setContextSwitches(kernel.getContextSwitches(), kernel.getSwitchOverhead());
+        if (scheduler instanceof ProportionalShare) {
+            ProportionalShare share = (ProportionalShare) scheduler;
+            statistics.setShareError(share.getMeanShareError(), share.getMaxShareError());
+        }
+        if (scheduler instanceof BurstPrediction && ((BurstPrediction) scheduler).isPredictingBursts()) {
+            BurstPrediction prediction = (BurstPrediction) scheduler;
+            statistics.setPredictionError(prediction.getMeanPredictionError(), prediction.getMaxPredictionError());
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PrintStream report = new PrintStream(buffer);
+        format.writeIteration(report, new IterationResult(algorithmName, iteration, table,
+                Arrays.copyOf(ranJobs, ranCount), timeline, statistics, reportPriorityLevels));
+        report.flush();
+        return new Iteration(statistics, buffer.toByteArray());
+    }
+
+    /**
+     * Statistics and buffered report of one iteration
+     */
+    private static class Iteration {
+        private final RunStatistics statistics;
+        private final byte[] report;
+
+        Iteration(RunStatistics statistics, byte[] report) {
+            this.statistics = statistics;
+            this.report = report;
+        }
+    }
+
+    /**
+     * Iterations in order and their averaged statistics
+     */
+    private static class Report {
+        private final List<Iteration> iterations;
+        private final RunStatistics overall;
+
+        Report(List<Iteration> iterations, RunStatistics overall) {
+            this.iterations = iterations;
+            this.overall = overall;
+        }
+    }
+}
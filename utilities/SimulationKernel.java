@@ -0,0 +1,221 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Discrete-event simulation kernel shared by the schedulers.
+ * Instead of advancing the clock one quantum at a time, the kernel jumps straight
+ * to the next scheduling event: an arrival, a completion or the end of the running
+ * job's time slice. Idle stretches are skipped in a single step, so the cost of a
+ * run grows with the number of events rather than with the simulated time.
+ * 
+ * Arrivals are consumed lazily from an ArrivalStream through a single cursor. When the
+ * kernel runs from a stream, completed jobs are handed to the completion listeners and
+ * their ids are recycled, so memory is bounded by the number of jobs in the system.
+ * 
+ * If the scheduler charges a context switch cost, the CPU spends that many quanta
+ * (shown as '*' in the timeline) before running a job other than the one that ran last.
+ */
+public class SimulationKernel {
+
+    private ProcessTable table;
+    private ArrivalStream arrivals;
+    private boolean releaseCompleted;
+    private List<CompletionListener> completionListeners;
+    private Scheduler scheduler;
+    private long horizon;
+    private Timeline timeline;
+    private boolean recordTimeline;
+    private long currentQuantum;
+    private int lastArrivalTime;
+    private int contextSwitchCost;
+    private int lastJob;
+    private long contextSwitches;
+    private long switchOverhead;
+
+    /**
+     * @param table - processes sorted by arrival time
+     * @param scheduler - policy deciding which job runs next
+     */
+    public SimulationKernel(ProcessTable table, Scheduler scheduler) {
+        this(table, table.arrivals(), scheduler, false);
+    }
+
+    /**
+     * @param table - initially empty table the streamed jobs are loaded into
+     * @param arrivals - jobs in order of arrival time
+     * @param scheduler - policy deciding which job runs next, created for the same table
+     */
+    public SimulationKernel(ProcessTable table, ArrivalStream arrivals, Scheduler scheduler) {
+        this(table, arrivals, scheduler, true);
+    }
+
+    private SimulationKernel(ProcessTable table, ArrivalStream arrivals, Scheduler scheduler, boolean releaseCompleted) {
+        this.table = table;
+        this.arrivals = arrivals;
+        this.releaseCompleted = releaseCompleted;
+        this.completionListeners = new ArrayList<>();
+        this.scheduler = scheduler;
+        this.horizon = scheduler.horizon();
+        this.timeline = new Timeline();
+        this.recordTimeline = true;
+        this.currentQuantum = 0;
+        this.lastArrivalTime = Integer.MIN_VALUE;
+        this.contextSwitchCost = scheduler.contextSwitchCost();
+        this.lastJob = -1;
+        this.contextSwitches = 0;
+        this.switchOverhead = 0;
+    }
+
+    /**
+     * Notify the listener about every job that completes
+     */
+    public void addCompletionListener(CompletionListener listener) {
+        completionListeners.add(listener);
+    }
+
+    /**
+     * Turn recording of the timeline off for runs whose Gantt chart is not needed
+     */
+    public void setRecordTimeline(boolean recordTimeline) {
+        this.recordTimeline = recordTimeline;
+    }
+
+    /**
+     * Run the simulation until no more work can be scheduled
+     * Returns the timeline showing which process ran at each quantum
+     */
+    public Timeline run() {
+        while (true) {
+            admitArrivals(currentQuantum);
+
+            int job = scheduler.pickNext(currentQuantum);
+
+            // CPU is idle, jump straight to the next arrival
+            if (job < 0) {
+                long idleUntil;
+                if (arrivals.hasNext()) {
+                    idleUntil = Math.min(arrivals.peekArrivalTime(), horizon);
+                } else {
+                    idleUntil = scheduler.idlesUntilHorizon() ? horizon : currentQuantum;
+                }
+
+                if (idleUntil <= currentQuantum) {
+                    break;
+                }
+
+                appendRun(Timeline.IDLE, idleUntil - currentQuantum);
+                currentQuantum = idleUntil;
+                lastJob = -1;
+                continue;
+            }
+
+            // Switching to another job costs overhead, arrivals meanwhile are queued
+            if (job != lastJob) {
+                contextSwitches++;
+                if (contextSwitchCost > 0) {
+                    appendRun(Timeline.CONTEXT_SWITCH, contextSwitchCost);
+                    currentQuantum += contextSwitchCost;
+                    switchOverhead += contextSwitchCost;
+                    admitArrivals(currentQuantum);
+                }
+            }
+            lastJob = job;
+
+            // If this is the first time the process is getting CPU, set start time
+            if (!table.hasStarted(job)) {
+                table.setStartTime(job, (int) currentQuantum);
+            }
+
+            // Run until the next scheduling event
+            int remaining = table.getRemainingTime(job);
+            long ran = Math.min(remaining, scheduler.sliceFor(job, currentQuantum, nextAdmission()));
+            table.setRemainingTime(job, remaining - (int) ran);
+            appendRun(table.getPid(job), ran);
+            currentQuantum += ran;
+
+            // Jobs that arrived while this one was running queue up ahead of it
+            admitArrivals(currentQuantum - 1);
+
+            if (table.isCompleted(job)) {
+                table.setCompletionTime(job, (int) currentQuantum);
+                scheduler.onComplete(job, currentQuantum);
+                for (CompletionListener listener : completionListeners) {
+                    listener.processCompleted(table, job);
+                }
+                if (releaseCompleted) {
+                    table.release(job);
+                }
+            } else {
+                scheduler.onTick(job, currentQuantum, ran);
+            }
+        }
+
+        return timeline;
+    }
+
+    /**
+     * Table the kernel runs against
+     */
+    public ProcessTable getTable() {
+        return table;
+    }
+
+    /**
+     * Number of times the CPU switched to a different job
+     */
+    public long getContextSwitches() {
+        return contextSwitches;
+    }
+
+    /**
+     * Quanta spent on context switches
+     */
+    public long getSwitchOverhead() {
+        return switchOverhead;
+    }
+
+    /**
+     * Current simulated quantum
+     */
+    public long getCurrentQuantum() {
+        return currentQuantum;
+    }
+
+    /**
+     * Hand every process that has arrived by the given quantum to the scheduler
+     * Processes that arrived before the horizon are admitted even if the CPU was busy
+     * until past it, as the multi-CPU kernel does
+     */
+    private void admitArrivals(long quantum) {
+        while (arrivals.hasNext() && arrivals.peekArrivalTime() <= quantum
+                && arrivals.peekArrivalTime() < horizon) {
+            int arrivalTime = arrivals.peekArrivalTime();
+            if (arrivalTime < lastArrivalTime) {
+                throw new IllegalStateException("Arrivals are not in order of arrival time: "
+                        + arrivalTime + " after " + lastArrivalTime);
+            }
+            lastArrivalTime = arrivalTime;
+            scheduler.admit(arrivals.next(table), quantum);
+        }
+    }
+
+    /**
+     * Quantum at which the next pending arrival will be admitted
+     * Returns Long.MAX_VALUE if no more processes will be admitted
+     */
+    private long nextAdmission() {
+        if (!arrivals.hasNext() || currentQuantum >= horizon) {
+            return Long.MAX_VALUE;
+        }
+        long admission = arrivals.peekArrivalTime();
+        return admission < horizon ? admission : Long.MAX_VALUE;
+    }
+
+    private void appendRun(int pid, long length) {
+        if (recordTimeline) {
+            timeline.append(pid, length);
+        }
+    }
+}
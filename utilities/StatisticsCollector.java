@@ -0,0 +1,67 @@
+package utilities;
+
+/**
+ * Accumulates run statistics as jobs complete, without keeping the jobs around
+ */
+public class StatisticsCollector implements CompletionListener {
+
+    private int processCount;
+    private LatencyStatistics turnaroundTimes;
+    private LatencyStatistics waitTimes;
+    private LatencyStatistics responseTimes;
+    private double lastCompletionTime;
+    private int deadlineJobs;
+    private int deadlineMisses;
+    private LatencyStatistics lateness;
+
+    public StatisticsCollector() {
+        this.processCount = 0;
+        this.turnaroundTimes = new LatencyStatistics();
+        this.waitTimes = new LatencyStatistics();
+        this.responseTimes = new LatencyStatistics();
+        this.lastCompletionTime = 0.0;
+        this.deadlineJobs = 0;
+        this.deadlineMisses = 0;
+        this.lateness = new LatencyStatistics();
+    }
+
+    @Override
+    public void processCompleted(ProcessTable table, int job) {
+        processCount++;
+        turnaroundTimes.record(table.getTurnaroundTime(job));
+        waitTimes.record(table.getWaitTime(job));
+        responseTimes.record(table.getResponseTimeValue(job));
+        lastCompletionTime = Math.max(lastCompletionTime, table.getCompletionTime(job));
+        if (table.hasDeadline(job)) {
+            // Jobs that meet their deadline count as 0 quanta late
+            int late = table.getLateness(job);
+            deadlineJobs++;
+            if (late > 0) {
+                deadlineMisses++;
+            }
+            lateness.record(Math.max(0, late));
+        }
+    }
+
+    public int getProcessCount() {
+        return processCount;
+    }
+
+    /**
+     * Statistics over all jobs completed so far
+     */
+    public RunStatistics getStatistics() {
+        if (processCount == 0) {
+            return new RunStatistics(0, 0.0, 0.0, 0.0, 0.0, 0.0);
+        }
+        // Throughput is processes completed per quantum
+        double throughput = lastCompletionTime > 0 ? processCount / lastCompletionTime : 0.0;
+        RunStatistics statistics = new RunStatistics(processCount, turnaroundTimes.getMean(), waitTimes.getMean(),
+                responseTimes.getMean(), throughput, lastCompletionTime);
+        statistics.setLatencies(turnaroundTimes, waitTimes, responseTimes);
+        if (deadlineJobs > 0) {
+            statistics.setDeadlines(deadlineJobs, deadlineMisses, lateness);
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,222 @@
+package utilities;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Human readable report: process tables, timeline and statistics of every iteration
+ * Process rows are only listed for runs of up to maxListedProcesses jobs, larger runs
+ * get the statistics alone; use a CSV or JSON Lines report for their processes.
+ */
+public class TableReport implements ReportFormat {
+
+    public static final int DEFAULT_MAX_LISTED_PROCESSES = 1000;
+
+    private static final String LINE = "----------------------------------------------------------------------------------------------------";
+    private static final String DOUBLE_LINE = "========================================================================================================";
+    private static final String END_LINE = "====================================================================================================";
+    private static final String NEWLINE = System.lineSeparator();
+
+    private int maxListedProcesses;
+
+    public TableReport() {
+        this(DEFAULT_MAX_LISTED_PROCESSES);
+    }
+
+    public TableReport(int maxListedProcesses) {
+        this.maxListedProcesses = maxListedProcesses;
+    }
+
+    @Override
+    public void writeIteration(PrintStream out, IterationResult result) {
+        ProcessTable table = result.getTable();
+        int[] ranJobs = result.getRanJobs();
+        RunStatistics statistics = result.getStatistics();
+        boolean listed = ranJobs.length <= maxListedProcesses;
+
+        // Names are as wide as in the timeline, so the rows line up with the chart
+        Timeline timeline = result.getTimeline();
+        int nameWidth = timeline.getNameWidth();
+
+        // Display iteration header
+        out.println(DOUBLE_LINE);
+        out.println("ITERATION " + result.getIteration() + " - " + result.getAlgorithmName());
+        out.println(DOUBLE_LINE);
+        out.println();
+
+        // Display generated processes
+        out.println("Generated Processes:");
+        out.println(LINE);
+        if (listed) {
+            out.println("Process | Arrival Time | Expected Run Time | Priority");
+            out.println(LINE);
+            StringBuilder rows = new StringBuilder();
+            for (int job : ranJobs) {
+                rows.append("   ").append(Timeline.nameOf(table.getPid(job), nameWidth))
+                        .append("    |     ").append(table.getArrivalTime(job))
+                        .append("       |        ").append(table.getRuntime(job))
+                        .append("          |    ").append(table.getPriority(job))
+                        .append(NEWLINE);
+            }
+            out.print(rows);
+        } else {
+            printNotListed(out, ranJobs.length);
+        }
+        out.println(LINE);
+        out.println();
+
+        // Display timeline in chunks of 100 quanta for readability
+        out.println("Timeline (showing which process runs at each quantum):");
+        out.println(LINE);
+        if (timeline.isRenderable()) {
+            String chart = timeline.render();
+            int timelineLength = chart.length() / nameWidth;
+            for (int i = 0; i < timelineLength; i += 100) {
+                int end = Math.min(i + 100, timelineLength);
+                out.printf("Quanta %3d-%3d: %s%n", i, end - 1, chart.substring(i * nameWidth, end * nameWidth));
+            }
+        } else {
+            out.println(timeline);
+        }
+        out.println(LINE);
+        out.println();
+
+        // Display detailed process statistics
+        out.println("Process Statistics:");
+        out.println(LINE);
+        if (listed) {
+            out.println("Process | Arrival | Start | End | Runtime | Response | Wait | Turnaround | Priority");
+            out.println(LINE);
+            // Times are whole quanta, shown with one decimal
+            StringBuilder rows = new StringBuilder();
+            for (int job : ranJobs) {
+                rows.append("   ").append(Timeline.nameOf(table.getPid(job), nameWidth))
+                        .append("    |  ").append(table.getArrivalTime(job))
+                        .append(".0   | ").append(table.getStartTime(job))
+                        .append(".0  | ").append(table.getCompletionTime(job))
+                        .append(".0 |   ").append(table.getRuntime(job))
+                        .append(".0   |   ").append(table.getResponseTimeValue(job))
+                        .append(".0    | ").append(table.getWaitTime(job))
+                        .append(".0  |    ").append(table.getTurnaroundTime(job))
+                        .append(".0     |    ").append(table.getPriority(job))
+                        .append(NEWLINE);
+            }
+            out.print(rows);
+        } else {
+            printNotListed(out, ranJobs.length);
+        }
+        out.println(LINE);
+
+        if (result.isReportPriorityLevels()) {
+            printPriorityLevels(out, result.getStatisticsByPriority(), statistics.getLastCompletionTime());
+        }
+
+        // Display iteration summary
+        out.println();
+        out.println("Iteration " + result.getIteration() + " Summary:");
+        out.println(LINE);
+        printRunSummary(out, statistics);
+        out.println(END_LINE);
+        out.println();
+    }
+
+    /**
+     * Statistics of a single run, one per line; also used by the mains that run the
+     * kernel themselves (multi-core, trace replay) for their table reports
+     */
+    public static void printRunSummary(PrintStream out, RunStatistics statistics) {
+        out.printf("Processes Completed: %d%n", statistics.getProcessCount());
+        out.printf("Total Quanta: %.0f%n", statistics.getLastCompletionTime());
+        out.printf("Average Turnaround Time: %.2f quanta%n", statistics.getAvgTurnaroundTime());
+        out.printf("Average Wait Time: %.2f quanta%n", statistics.getAvgWaitTime());
+        out.printf("Average Response Time: %.2f quanta%n", statistics.getAvgResponseTime());
+        printPercentiles(out, "Wait Time", statistics.getWaitTimes());
+        printPercentiles(out, "Response Time", statistics.getResponseTimes());
+        if (statistics.hasDeadlines()) {
+            printDeadlines(out, statistics);
+        }
+        out.printf("Throughput: %.4f processes/quantum%n", statistics.getThroughput());
+        out.printf("Context Switches: %.0f (%.0f quanta overhead)%n", statistics.getContextSwitches(), statistics.getSwitchOverhead());
+        if (statistics.isShareErrorRecorded()) {
+            out.printf("Share Error vs Target: %.2f mean, %.2f max quanta%n", statistics.getMeanShareError(), statistics.getMaxShareError());
+        }
+        if (statistics.isPredictionErrorRecorded()) {
+            out.printf("Burst Prediction Error: %.2f mean, %.2f max quanta%n", statistics.getMeanPredictionError(), statistics.getMaxPredictionError());
+        }
+    }
+
+    @Override
+    public void writeSummary(PrintStream out, String algorithmName, int iterations, RunStatistics overall) {
+        out.println();
+        out.println(DOUBLE_LINE);
+        out.println("                    FINAL STATISTICS (Average over " + iterations + " iterations)");
+        out.println(DOUBLE_LINE);
+        out.println();
+        out.println("Algorithm: " + algorithmName);
+        out.println(LINE);
+        out.printf("Average Turnaround Time (TAT): %.2f quanta%n", overall.getAvgTurnaroundTime());
+        out.printf("Average Wait Time (WT): %.2f quanta%n", overall.getAvgWaitTime());
+        out.printf("Average Response Time (RT): %.2f quanta%n", overall.getAvgResponseTime());
+        printPercentiles(out, "Wait Time (WT)", overall.getWaitTimes());
+        printPercentiles(out, "Response Time (RT)", overall.getResponseTimes());
+        if (overall.hasDeadlines()) {
+            printDeadlines(out, overall);
+        }
+        out.printf("Average Throughput: %.4f processes/quantum%n", overall.getThroughput());
+        out.printf("Average Context Switches: %.1f (%.1f quanta overhead)%n", overall.getContextSwitches(), overall.getSwitchOverhead());
+        if (overall.isShareErrorRecorded()) {
+            out.printf("Share Error vs Target: %.2f mean, %.2f max quanta%n", overall.getMeanShareError(), overall.getMaxShareError());
+        }
+        if (overall.isPredictionErrorRecorded()) {
+            out.printf("Burst Prediction Error: %.2f mean, %.2f max quanta%n", overall.getMeanPredictionError(), overall.getMaxPredictionError());
+        }
+        out.println(DOUBLE_LINE);
+    }
+
+    private void printNotListed(PrintStream out, int processes) {
+        out.println(processes + " processes, more than " + maxListedProcesses
+                + " are not listed (use the csv or jsonl report format)");
+    }
+
+    private static void printPriorityLevels(PrintStream out, List<RunStatistics> byPriority, double lastCompletionTime) {
+        out.println();
+        out.println("Priority-Level Statistics:");
+        out.println(LINE);
+        out.println("Priority | Processes | Avg TAT | Avg WT | Max WT | Avg RT | Throughput");
+        out.println(LINE);
+        for (int priority = 1; priority <= byPriority.size(); priority++) {
+            RunStatistics s = byPriority.get(priority - 1);
+            if (s.getProcessCount() == 0) {
+                out.printf("    %d     |     0     |   N/A   |  N/A  |  N/A   |  N/A  |   0.0000%n", priority);
+                continue;
+            }
+            // Throughput of a level is over the whole run
+            double throughput = lastCompletionTime > 0 ? s.getProcessCount() / lastCompletionTime : 0.0;
+            out.printf("    %d     |     %d     |  %.2f   |  %.2f  |  %3d   |  %.2f  |   %.4f%n",
+                    priority,
+                    s.getProcessCount(),
+                    s.getAvgTurnaroundTime(),
+                    s.getAvgWaitTime(),
+                    s.getWaitTimes().getMax(),
+                    s.getAvgResponseTime(),
+                    throughput);
+        }
+        out.println(LINE);
+    }
+
+    private static void printDeadlines(PrintStream out, RunStatistics statistics) {
+        out.printf("Deadline Misses: %.0f of %.0f (%.2f%%)%n", statistics.getDeadlineMisses(),
+                statistics.getDeadlineJobs(), statistics.getDeadlineMissRatio() * 100);
+        printPercentiles(out, "Lateness", statistics.getLateness());
+    }
+
+    private static void printPercentiles(PrintStream out, String name, LatencyStatistics latencies) {
+        out.printf("%s p50/p95/p99/p99.9: %d / %d / %d / %d quanta (std dev %.2f)%n",
+                name,
+                latencies.getPercentile(50),
+                latencies.getPercentile(95),
+                latencies.getPercentile(99),
+                latencies.getPercentile(99.9),
+                latencies.getStandardDeviation());
+    }
+}
@@ -0,0 +1,192 @@
+package utilities;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Run-length encoded Gantt chart of a simulation.
+ * Each segment records which process held the CPU, from which quantum and for how
+ * many quanta, so memory grows with the number of scheduling events instead of one
+ * character per simulated quantum. Consecutive segments of the same process merge.
+ * The character view is only rendered for small runs.
+ *
+ * Processes are named by their pid in base 62 (A-Z, a-z, 0-9), so the first 26 are A..Z.
+ * All names of a chart have the width of the longest one, "AA", "AB", ... once there are
+ * more than 62 processes, so every quantum takes the same number of characters.
+ */
+public class Timeline {
+
+    public static final int IDLE = -1;
+    public static final int CONTEXT_SWITCH = -2;
+
+    // Longest timeline rendered as characters
+    public static final long MAX_RENDERED_QUANTA = 10_000;
+
+    private static final int MAGIC = 0x544C4E31; // "TLN1"
+
+    private static final String NAME_DIGITS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+
+    private int segmentCount;
+    private int[] pids;
+    private long[] starts;
+    private long[] lengths;
+
+    public Timeline() {
+        this.segmentCount = 0;
+        this.pids = new int[16];
+        this.starts = new long[16];
+        this.lengths = new long[16];
+    }
+
+    /**
+     * Append a segment at the end of the timeline
+     *
+     * @param pid - process id, IDLE or CONTEXT_SWITCH
+     * @param length - number of quanta
+     */
+    public void append(int pid, long length) {
+        if (length <= 0) {
+            return;
+        }
+        if (segmentCount > 0 && pids[segmentCount - 1] == pid) {
+            lengths[segmentCount - 1] += length;
+            return;
+        }
+        if (segmentCount == pids.length) {
+            int capacity = pids.length * 2;
+            pids = Arrays.copyOf(pids, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+        pids[segmentCount] = pid;
+        starts[segmentCount] = length();
+        lengths[segmentCount] = length;
+        segmentCount++;
+    }
+
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    public int getPid(int segment) {
+        return pids[segment];
+    }
+
+    public long getStart(int segment) {
+        return starts[segment];
+    }
+
+    public long getLength(int segment) {
+        return lengths[segment];
+    }
+
+    /**
+     * Total number of quanta covered by the timeline
+     */
+    public long length() {
+        if (segmentCount == 0) {
+            return 0;
+        }
+        return starts[segmentCount - 1] + lengths[segmentCount - 1];
+    }
+
+    /**
+     * Check if the timeline is small enough to render one character per quantum
+     */
+    public boolean isRenderable() {
+        return length() <= MAX_RENDERED_QUANTA;
+    }
+
+    /**
+     * Characters every quantum takes in the character view, the width of the longest process name
+     */
+    public int getNameWidth() {
+        int maxPid = 0;
+        for (int i = 0; i < segmentCount; i++) {
+            maxPid = Math.max(maxPid, pids[i]);
+        }
+        return nameWidth(maxPid);
+    }
+
+    /**
+     * Character view with getNameWidth() characters per quantum: the process name,
+     * '-' when the CPU is idle and '*' during a context switch
+     */
+    public String render() {
+        if (!isRenderable()) {
+            throw new IllegalStateException("Timeline of " + length() + " quanta is too long to render");
+        }
+        int width = getNameWidth();
+        StringBuilder sb = new StringBuilder((int) length() * width);
+        for (int i = 0; i < segmentCount; i++) {
+            String name = nameOf(pids[i], width);
+            for (long q = 0; q < lengths[i]; q++) {
+                sb.append(name);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Number of base 62 digits of the name of a process id
+     */
+    public static int nameWidth(int pid) {
+        int width = 1;
+        for (long limit = NAME_DIGITS.length(); pid >= limit; limit *= NAME_DIGITS.length()) {
+            width++;
+        }
+        return width;
+    }
+
+    /**
+     * Name of a process id in base 62, padded with leading 'A's (zeros) to the width;
+     * IDLE and CONTEXT_SWITCH are '-' and '*' repeated to the width
+     */
+    public static String nameOf(int pid, int width) {
+        char[] name = new char[width];
+        if (pid < 0) {
+            Arrays.fill(name, pid == IDLE ? '-' : '*');
+            return new String(name);
+        }
+        for (int i = width - 1; i >= 0; i--) {
+            name[i] = NAME_DIGITS.charAt(pid % NAME_DIGITS.length());
+            pid /= NAME_DIGITS.length();
+        }
+        return new String(name);
+    }
+
+    /**
+     * Write the segments in a compact binary form
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            out.writeInt(pids[i]);
+            out.writeLong(lengths[i]);
+        }
+    }
+
+    /**
+     * Read a timeline written by writeTo
+     */
+    public static Timeline readFrom(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a timeline");
+        }
+        Timeline timeline = new Timeline();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            int pid = in.readInt();
+            timeline.append(pid, in.readLong());
+        }
+        return timeline;
+    }
+
+    @Override
+    public String toString() {
+        return isRenderable() ? render() : segmentCount + " segments over " + length() + " quanta";
+    }
+}
@@ -0,0 +1,366 @@
+package utilities;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Replays a job trace file as an ArrivalStream, reading it in blocks through a channel
+ * so traces far larger than memory can be simulated.
+ *
+ * Two formats are read:
+ * - SWF (Standard Workload Format): whitespace separated fields, ';' starts a comment line.
+ *   Arrival is the submit time (field 2), runtime the run time (field 4) or the requested
+ *   time (field 9) if the run time is missing, priority the queue number (field 15).
+ * - CSV: arrival, runtime and an optional priority per line, separated by commas.
+ *   Lines starting with '#' are comments.
+ *
+ * Times are in seconds and divided by the length of a quantum; runtimes are rounded up to
+ * at least one quantum. Priorities are limited to 1..priorityLevels and jobs without one get
+ * the lowest priority. Other lines without an arrival time and a runtime, such as a CSV
+ * header, are skipped and counted.
+ * Numbers are parsed straight from the bytes, no String is created per line.
+ * Jobs must be in order of arrival time, as in an SWF log.
+ */
+public class TraceArrivalStream implements ArrivalStream, Closeable {
+
+    public enum Format {
+        SWF,
+        CSV
+    }
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int MAX_FIELDS = 18;
+    private static final int MAX_DIGITS = 18;
+    private static final double[] POWERS_OF_TEN = new double[MAX_DIGITS + 1];
+
+    // Results of readLine() other than a number of fields
+    private static final int END_OF_INPUT = -1;
+    private static final int BLANK_LINE = -2;     // also comment lines
+    private static final int SKIPPED_LINE = -3;
+
+    static {
+        POWERS_OF_TEN[0] = 1.0;
+        for (int i = 1; i <= MAX_DIGITS; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10.0;
+        }
+    }
+
+    private ReadableByteChannel channel;
+    private Format format;
+    private double secondsPerQuantum;
+    private int priorityLevels;
+
+    // Read buffer, parsed through its backing array
+    private ByteBuffer buffer;
+    private byte[] bytes;
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private long bytesRead;
+
+    // Fields of the line being parsed, -1 for an empty CSV field
+    private double[] fields;
+
+    // Next job, read ahead so its arrival time can be peeked
+    private boolean hasNextJob;
+    private int nextArrival;
+    private int nextRuntime;
+    private int nextPriority;
+    private int jobsRead;
+    private long skippedLines;
+
+    /**
+     * @param channel - trace contents, closed with the stream
+     * @param secondsPerQuantum - length of a quantum in the time unit of the trace
+     * @param priorityLevels - number of priority levels of the scheduler
+     */
+    public TraceArrivalStream(ReadableByteChannel channel, Format format, double secondsPerQuantum,
+                              int priorityLevels) throws IOException {
+        if (secondsPerQuantum <= 0) {
+            throw new IllegalArgumentException("Quantum length must be positive: " + secondsPerQuantum);
+        }
+        if (priorityLevels < 1) {
+            throw new IllegalArgumentException("At least one priority level is required");
+        }
+        this.channel = channel;
+        this.format = format;
+        this.secondsPerQuantum = secondsPerQuantum;
+        this.priorityLevels = priorityLevels;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.bytes = buffer.array();
+        this.position = 0;
+        this.limit = 0;
+        this.endOfInput = false;
+        this.bytesRead = 0;
+        this.fields = new double[MAX_FIELDS];
+        this.jobsRead = 0;
+        this.skippedLines = 0;
+        readAhead();
+    }
+
+    /**
+     * Open a trace file, in SWF if its name ends with .swf and CSV otherwise
+     */
+    public static TraceArrivalStream open(Path path, double secondsPerQuantum, int priorityLevels) throws IOException {
+        Format format = path.getFileName().toString().toLowerCase().endsWith(".swf") ? Format.SWF : Format.CSV;
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new TraceArrivalStream(channel, format, secondsPerQuantum, priorityLevels);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNextJob;
+    }
+
+    @Override
+    public int peekArrivalTime() {
+        return nextArrival;
+    }
+
+    @Override
+    public int next(ProcessTable table) {
+        int job = table.allocate(jobsRead, nextArrival, nextRuntime, nextPriority);
+        jobsRead++;
+        try {
+            readAhead();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return job;
+    }
+
+    /**
+     * Number of jobs handed to the simulation so far
+     */
+    public int getJobsRead() {
+        return jobsRead;
+    }
+
+    /**
+     * Number of lines that were not comments or blank but held no usable job
+     */
+    public long getSkippedLines() {
+        return skippedLines;
+    }
+
+    /**
+     * Number of bytes read from the trace so far
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Parse lines until the next usable job or the end of the trace
+     */
+    private void readAhead() throws IOException {
+        while (true) {
+            int count = readLine();
+            if (count == END_OF_INPUT) {
+                hasNextJob = false;
+                return;
+            }
+            if (count == BLANK_LINE) {
+                continue;
+            }
+            if (count != SKIPPED_LINE && mapJob(count)) {
+                hasNextJob = true;
+                return;
+            }
+            skippedLines++;
+        }
+    }
+
+    /**
+     * Fill the next job from the fields of a line
+     * Returns false if the line has no arrival time or runtime
+     */
+    private boolean mapJob(int count) {
+        double submit;
+        double run;
+        double queue;
+        if (format == Format.SWF) {
+            if (count < 4) {
+                return false;
+            }
+            submit = fields[1];
+            run = fields[3];
+            if (run < 0 && count > 8) {
+                run = fields[8];
+            }
+            queue = count > 14 ? fields[14] : -1;
+        } else {
+            if (count < 2) {
+                return false;
+            }
+            submit = fields[0];
+            run = fields[1];
+            queue = count > 2 ? fields[2] : -1;
+        }
+        if (submit < 0 || run < 0) {
+            return false;
+        }
+
+        double arrival = Math.floor(submit / secondsPerQuantum);
+        if (arrival > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Arrival time " + submit + " does not fit in quanta of " + secondsPerQuantum);
+        }
+        nextArrival = (int) arrival;
+        nextRuntime = (int) Math.min(Integer.MAX_VALUE, Math.max(1.0, Math.ceil(run / secondsPerQuantum)));
+        nextPriority = queue >= 1 ? (int) Math.min(queue, priorityLevels) : priorityLevels;
+        return true;
+    }
+
+    /**
+     * Parse one line into the fields array
+     * Returns the number of fields, END_OF_INPUT, BLANK_LINE for blank and comment lines,
+     * or SKIPPED_LINE for lines that are not all numbers
+     */
+    private int readLine() throws IOException {
+        boolean csv = format == Format.CSV;
+        int count = 0;
+        boolean lineStarted = false;
+        boolean comment = false;
+        boolean skip = false;
+
+        // Number being parsed
+        boolean inField = false;
+        boolean negative = false;
+        boolean seenPoint = false;
+        long mantissa = 0;
+        int digits = 0;
+        int decimals = 0;
+
+        while (true) {
+            if (position == limit && !fill()) {
+                if (!lineStarted && !comment) {
+                    return END_OF_INPUT;
+                }
+                break;
+            }
+            byte b = bytes[position++];
+            if (b == '\n') {
+                break;
+            }
+            if (skip || comment) {
+                continue;
+            }
+            if (!lineStarted && (b == ';' || b == '#')) {
+                comment = true;
+                continue;
+            }
+            if (b >= '0' && b <= '9') {
+                lineStarted = true;
+                inField = true;
+                if (digits == MAX_DIGITS) {
+                    skip = true;
+                    continue;
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (seenPoint) {
+                    decimals++;
+                }
+                continue;
+            }
+            if (b == ' ' || b == '\t' || b == '\r') {
+                // Whitespace separates SWF fields and is trimmed around CSV fields
+                if (!csv && inField) {
+                    if (count < MAX_FIELDS) {
+                        fields[count++] = value(negative, mantissa, decimals);
+                    }
+                    inField = false;
+                    negative = false;
+                    seenPoint = false;
+                    mantissa = 0;
+                    digits = 0;
+                    decimals = 0;
+                }
+                continue;
+            }
+            if (csv && b == ',') {
+                lineStarted = true;
+                if (count < MAX_FIELDS) {
+                    fields[count++] = inField ? value(negative, mantissa, decimals) : -1;
+                }
+                inField = false;
+                negative = false;
+                seenPoint = false;
+                mantissa = 0;
+                digits = 0;
+                decimals = 0;
+                continue;
+            }
+            if (b == '-' && !inField) {
+                lineStarted = true;
+                inField = true;
+                negative = true;
+                continue;
+            }
+            if (b == '.' && !seenPoint) {
+                lineStarted = true;
+                inField = true;
+                seenPoint = true;
+                continue;
+            }
+            // Comment, header or anything else that is not a number
+            lineStarted = true;
+            skip = true;
+        }
+
+        if (skip) {
+            return SKIPPED_LINE;
+        }
+        if (!lineStarted || comment) {
+            return BLANK_LINE;
+        }
+        if (count < MAX_FIELDS && (inField || csv)) {
+            fields[count++] = inField ? value(negative, mantissa, decimals) : -1;
+        }
+        return count;
+    }
+
+    private static double value(boolean negative, long mantissa, int decimals) {
+        double value = decimals == 0 ? mantissa : mantissa / POWERS_OF_TEN[decimals];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Read the next block of the trace
+     * Returns false at the end of the trace
+     */
+    private boolean fill() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        if (read < 0) {
+            endOfInput = true;
+            return false;
+        }
+        bytesRead += read;
+        position = 0;
+        limit = buffer.position();
+        return true;
+    }
+}
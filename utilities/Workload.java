@@ -0,0 +1,164 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable set of jobs in order of arrival time: pid, arrival time, runtime, priority
+ * and, for jobs with a deadline, the deadline relative to the arrival time and the period.
+ * A workload never changes once created, so any number of simulations can run on it at
+ * the same time; each run keeps its own remaining, start and completion times in a
+ * ProcessTable created with new ProcessTable(workload), which can be reset for the next run.
+ */
+public final class Workload {
+
+    private final int[] pid;
+    private final int[] arrivalTime;
+    private final int[] runtime;
+    private final int[] priority;
+    private final int[] deadline;
+    private final int[] period;
+
+    /**
+     * Workload of the given jobs, the arrays are copied
+     * Job i has pid i
+     *
+     * @param arrivalTime - arrival time of every job, in non-decreasing order
+     */
+    public Workload(int[] arrivalTime, int[] runtime, int[] priority) {
+        this(arrivalTime, runtime, priority, new int[arrivalTime.length], new int[arrivalTime.length]);
+    }
+
+    /**
+     * Workload of the given jobs with deadlines, the arrays are copied
+     * Job i has pid i
+     *
+     * @param arrivalTime - arrival time of every job, in non-decreasing order
+     * @param deadline - deadline of every job relative to its arrival time, 0 for none
+     * @param period - period of the task that released every job, 0 if aperiodic
+     */
+    public Workload(int[] arrivalTime, int[] runtime, int[] priority, int[] deadline, int[] period) {
+        if (runtime.length != arrivalTime.length || priority.length != arrivalTime.length
+                || deadline.length != arrivalTime.length || period.length != arrivalTime.length) {
+            throw new IllegalArgumentException("Arrival time, runtime, priority, deadline and period must have one entry per job");
+        }
+        for (int job = 1; job < arrivalTime.length; job++) {
+            if (arrivalTime[job] < arrivalTime[job - 1]) {
+                throw new IllegalArgumentException("Jobs must be in order of arrival time");
+            }
+        }
+        this.pid = new int[arrivalTime.length];
+        for (int job = 0; job < pid.length; job++) {
+            pid[job] = job;
+        }
+        this.arrivalTime = arrivalTime.clone();
+        this.runtime = runtime.clone();
+        this.priority = priority.clone();
+        this.deadline = deadline.clone();
+        this.period = period.clone();
+    }
+
+    /**
+     * Workload of the given processes, sorted by arrival time
+     * Processes that arrive at the same time keep their list order
+     */
+    public static Workload fromProcesses(List<Process> processes) {
+        List<Process> sorted = new ArrayList<>(processes);
+        Collections.sort(sorted, Comparator.comparing(Process::getArrivalTime));
+
+        int[] arrivalTime = new int[sorted.size()];
+        int[] runtime = new int[sorted.size()];
+        int[] priority = new int[sorted.size()];
+        int[] deadline = new int[sorted.size()];
+        int[] period = new int[sorted.size()];
+        for (int job = 0; job < sorted.size(); job++) {
+            Process p = sorted.get(job);
+            arrivalTime[job] = (int) Math.ceil(p.getArrivalTime());
+            runtime[job] = (int) Math.ceil(p.getRuntime());
+            priority[job] = p.getPriority();
+            deadline[job] = p.getDeadline();
+            period[job] = p.getPeriod();
+        }
+        return new Workload(arrivalTime, runtime, priority, deadline, period);
+    }
+
+    /**
+     * Workload of every job of a finite stream, in stream order
+     * For the reports of runs that list every job; long runs consume the stream directly.
+     */
+    public static Workload fromStream(ArrivalStream arrivals) {
+        ProcessTable table = new ProcessTable();
+        while (arrivals.hasNext()) {
+            arrivals.next(table);
+        }
+        int[] arrivalTime = new int[table.size()];
+        int[] runtime = new int[table.size()];
+        int[] priority = new int[table.size()];
+        int[] deadline = new int[table.size()];
+        int[] period = new int[table.size()];
+        for (int job = 0; job < table.size(); job++) {
+            arrivalTime[job] = table.getArrivalTime(job);
+            runtime[job] = table.getRuntime(job);
+            priority[job] = table.getPriority(job);
+            deadline[job] = table.getRelativeDeadline(job);
+            period[job] = table.getPeriod(job);
+        }
+        return new Workload(arrivalTime, runtime, priority, deadline, period);
+    }
+
+    public int size() {
+        return arrivalTime.length;
+    }
+
+    public int getPid(int job) {
+        return pid[job];
+    }
+
+    public int getArrivalTime(int job) {
+        return arrivalTime[job];
+    }
+
+    public int getRuntime(int job) {
+        return runtime[job];
+    }
+
+    public int getPriority(int job) {
+        return priority[job];
+    }
+
+    public int getDeadline(int job) {
+        return deadline[job];
+    }
+
+    public int getPeriod(int job) {
+        return period[job];
+    }
+
+    // The arrays are shared with the tables of the workload, which never write them
+
+    int[] pids() {
+        return pid;
+    }
+
+    int[] arrivalTimes() {
+        return arrivalTime;
+    }
+
+    int[] runtimes() {
+        return runtime;
+    }
+
+    int[] priorities() {
+        return priority;
+    }
+
+    int[] deadlines() {
+        return deadline;
+    }
+
+    int[] periods() {
+        return period;
+    }
+}
@@ -0,0 +1,229 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Grows a random workload one job at a time until it keeps the CPU busy enough.
+ *
+ * Jobs come from the same random sequence as ProcessGenerator, so the first n jobs of a
+ * synthesizer are exactly the n jobs generated from the same seed, and the sorted workload
+ * is the same as generating and sorting them. Instead of regenerating and re-verifying the
+ * whole list for every job count, the synthesizer keeps the total runtime arriving at each
+ * quantum and the time the CPU becomes free after it under FCFS. Adding a job only moves
+ * the free times from its arrival until the CPU would have gone idle anyway, so idle gaps
+ * and utilization are always up to date.
+ */
+public class WorkloadSynthesizer {
+
+    private Random rand;
+    private int simulationTime;
+    private int priorityLevels;
+
+    // Jobs in generation order
+    private int size;
+    private int[] arrivalTime;
+    private int[] runtime;
+    private int[] priority;
+
+    // FCFS schedule by arrival quantum
+    private long[] work;        // total runtime arriving at the quantum
+    private long[] freeTime;    // when the CPU is free after all jobs arriving up to the quantum
+    private int[] idleBefore;   // quanta the CPU is idle before the jobs arriving at the quantum start
+    private int[] gapCount;     // number of quanta with jobs by idle time before them
+    private int maxIdleGap;     // upper bound of the longest idle gap, lowered on demand
+    private long busyTime;
+
+    /**
+     * Synthesizer with the arrival window and priorities of the original simulations
+     */
+    public WorkloadSynthesizer(long seed) {
+        this(seed, 100, 4);
+    }
+
+    /**
+     * @param seed - random seed, the same as ProcessGenerator's for the same jobs
+     * @param simulationTime - processes arrive in quanta 0..simulationTime-1
+     * @param priorityLevels - processes get priorities 1..priorityLevels
+     */
+    public WorkloadSynthesizer(long seed, int simulationTime, int priorityLevels) {
+        this.rand = new Random(seed);
+        this.simulationTime = simulationTime;
+        this.priorityLevels = priorityLevels;
+        this.size = 0;
+        this.arrivalTime = new int[16];
+        this.runtime = new int[16];
+        this.priority = new int[16];
+        this.work = new long[simulationTime];
+        this.freeTime = new long[simulationTime];
+        this.idleBefore = new int[simulationTime];
+        this.gapCount = new int[simulationTime];
+        this.maxIdleGap = 0;
+        this.busyTime = 0;
+    }
+
+    /**
+     * Add jobs until no job waits for the CPU after it was idle for more than maxIdleQuanta
+     * Returns the number of jobs
+     *
+     * @param minimumJobs - stop no earlier than this number of jobs
+     * @param maximumJobs - give up with an IllegalStateException after this number of jobs
+     */
+    public int extendUntilMaxIdleGap(int maxIdleQuanta, int minimumJobs, int maximumJobs) {
+        while (size < minimumJobs || size == 0 || getMaxIdleGap() > maxIdleQuanta) {
+            checkLimit(maximumJobs, "idle gap of at most " + maxIdleQuanta + " quanta");
+            addJob();
+        }
+        return size;
+    }
+
+    /**
+     * Add jobs until the CPU is busy for at least the given fraction of the time
+     * Returns the number of jobs
+     *
+     * @param targetUtilization - fraction between 0 and 1
+     * @param minimumJobs - stop no earlier than this number of jobs
+     * @param maximumJobs - give up with an IllegalStateException after this number of jobs
+     */
+    public int extendUntilUtilization(double targetUtilization, int minimumJobs, int maximumJobs) {
+        while (size < minimumJobs || size == 0 || getUtilization() < targetUtilization) {
+            checkLimit(maximumJobs, "utilization of " + targetUtilization);
+            addJob();
+        }
+        return size;
+    }
+
+    /**
+     * Generate the next job of the random sequence and add it to the workload
+     */
+    public void addJob() {
+        Process p = new Process(rand, simulationTime, priorityLevels);
+        int arrival = (int) p.getArrivalTime();
+        int jobRuntime = (int) p.getRuntime();
+
+        if (size == arrivalTime.length) {
+            int capacity = size * 2;
+            arrivalTime = Arrays.copyOf(arrivalTime, capacity);
+            runtime = Arrays.copyOf(runtime, capacity);
+            priority = Arrays.copyOf(priority, capacity);
+        }
+        arrivalTime[size] = arrival;
+        runtime[size] = jobRuntime;
+        priority[size] = p.getPriority();
+        size++;
+
+        boolean firstAtQuantum = work[arrival] == 0;
+        work[arrival] += jobRuntime;
+        busyTime += jobRuntime;
+
+        // Move the free times on until they are the same as before
+        long previousFree = arrival > 0 ? freeTime[arrival - 1] : 0;
+        for (int t = arrival; t < simulationTime; t++) {
+            long free;
+            if (work[t] > 0) {
+                long start = Math.max(previousFree, t);
+                setIdleBefore(t, (int) (start - previousFree), t == arrival && firstAtQuantum);
+                free = start + work[t];
+            } else {
+                free = previousFree;
+            }
+            if (t > arrival && free == freeTime[t]) {
+                break;
+            }
+            freeTime[t] = free;
+            previousFree = free;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Longest time the CPU is idle before a job can start, under FCFS
+     */
+    public int getMaxIdleGap() {
+        while (maxIdleGap > 0 && gapCount[maxIdleGap] == 0) {
+            maxIdleGap--;
+        }
+        return maxIdleGap;
+    }
+
+    /**
+     * Fraction of the time from quantum 0 until the last job completes under FCFS
+     * that the CPU is busy
+     */
+    public double getUtilization() {
+        long end = freeTime[simulationTime - 1];
+        return end > 0 ? (double) busyTime / end : 0.0;
+    }
+
+    /**
+     * The jobs sorted by arrival time, jobs arriving at the same quantum in generation order
+     */
+    public Workload toWorkload() {
+        int[] order = sortedOrder();
+        int[] sortedArrival = new int[size];
+        int[] sortedRuntime = new int[size];
+        int[] sortedPriority = new int[size];
+        for (int job = 0; job < size; job++) {
+            sortedArrival[job] = arrivalTime[order[job]];
+            sortedRuntime[job] = runtime[order[job]];
+            sortedPriority[job] = priority[order[job]];
+        }
+        return new Workload(sortedArrival, sortedRuntime, sortedPriority);
+    }
+
+    /**
+     * The jobs as processes sorted like toWorkload(), the pid is the position in the list
+     */
+    public List<Process> toProcesses() {
+        int[] order = sortedOrder();
+        List<Process> processes = new ArrayList<>(size);
+        for (int job = 0; job < size; job++) {
+            int i = order[job];
+            Process p = new Process(arrivalTime[i], runtime[i], priority[i]);
+            p.setPid(job);
+            processes.add(p);
+        }
+        return processes;
+    }
+
+    private void setIdleBefore(int t, int idle, boolean newQuantum) {
+        if (!newQuantum) {
+            if (idleBefore[t] == idle) {
+                return;
+            }
+            gapCount[idleBefore[t]]--;
+        }
+        idleBefore[t] = idle;
+        gapCount[idle]++;
+        maxIdleGap = Math.max(maxIdleGap, idle);
+    }
+
+    /**
+     * Counting sort by arrival time, stable so equal arrivals keep generation order
+     */
+    private int[] sortedOrder() {
+        int[] next = new int[simulationTime + 1];
+        for (int i = 0; i < size; i++) {
+            next[arrivalTime[i] + 1]++;
+        }
+        for (int t = 0; t < simulationTime; t++) {
+            next[t + 1] += next[t];
+        }
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[next[arrivalTime[i]]++] = i;
+        }
+        return order;
+    }
+
+    private void checkLimit(int maximumJobs, String target) {
+        if (size >= maximumJobs) {
+            throw new IllegalStateException("No " + target + " with " + maximumJobs + " jobs");
+        }
+    }
+}